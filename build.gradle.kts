@@ -2,6 +2,8 @@ plugins {
     java
     id("org.springframework.boot") version "3.5.6"
     id("io.spring.dependency-management") version "1.1.7"
+    id("me.champeau.jmh") version "0.7.3"
+    id("org.graalvm.buildtools.native") version "0.10.6" apply false
 }
 
 group = "at.spengergasse"
@@ -24,11 +26,29 @@ repositories {
     mavenCentral()
 }
 
+// Load test + startup benchmark (src/loadtest/java): sees the application classes and their dependencies
+val loadtest: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+configurations[loadtest.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[loadtest.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
 dependencies {
 
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("org.springframework.boot:spring-boot-starter-webflux")
+    implementation("org.springframework.boot:spring-boot-starter-data-r2dbc")
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-cache")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    implementation("com.github.ben-manes.caffeine:caffeine")
+    implementation("org.roaringbitmap:RoaringBitmap:1.3.0")
+    implementation("it.unimi.dsi:fastutil:8.5.15")
+    implementation("org.springframework.boot:spring-boot-starter-aop")
+    implementation("org.hibernate.orm:hibernate-micrometer")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
     testImplementation("org.springframework.boot:spring-boot-starter-test")
 
     compileOnly("org.projectlombok:lombok")
@@ -36,11 +56,120 @@ dependencies {
 
     runtimeOnly("org.postgresql:postgresql")
     runtimeOnly("com.h2database:h2")
+    runtimeOnly("io.r2dbc:r2dbc-h2")
 
     developmentOnly("org.springframework.boot:spring-boot-devtools")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+    "loadtestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
 }
 
 tasks.withType<Test> {
     useJUnitPlatform()
 }
+
+// ./gradlew bootRun -Pvirtual -> virtual thread mode + pinning diagnostics
+tasks.named<org.springframework.boot.gradle.tasks.run.BootRun>("bootRun") {
+    if (project.hasProperty("virtual")) {
+        systemProperty("spring.profiles.active", "virtual")
+        jvmArgs("-Djdk.tracePinnedThreads=short")
+    }
+}
+
+// JMH Benchmarks (src/jmh/java)
+// Run all:  ./gradlew jmh
+// Run some: ./gradlew jmh -Pjmh.includes=Guard
+// Results:  build/reports/jmh/results.json (machine-readable, diff between builds)
+jmh {
+    jmhVersion = "1.37"
+    fork = 1
+    warmupIterations = 2
+    iterations = 5
+    (findProperty("jmh.includes") as String?)?.let { includes = listOf(it) }
+    (findProperty("jmh.profilers") as String?)?.let { profilers = it.split(",") }
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("reports/jmh/results.json")
+    humanOutputFile = layout.buildDirectory.file("reports/jmh/human.txt")
+}
+
+// HTTP Load Test (src/loadtest/java, see LoadTest / LoadTestConfig)
+// Starts the application on H2 and sends requests at a fixed arrival rate
+// Run:     ./gradlew loadTest -Ploadtest.rate=500 -Ploadtest.duration=60
+// Options: -Ploadtest.<rate|duration|warmup|mix|seed-rows|url|profiles>=...
+// Reports: build/reports/loadtest/*.hgrm (latency percentile distributions)
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Runs the HTTP load test against the application on H2"
+    classpath = loadtest.runtimeClasspath
+    mainClass = "at.spengergasse.todo.loadtest.LoadTest"
+    systemProperty("loadtest.report-dir", layout.buildDirectory.dir("reports/loadtest").get().asFile.path)
+    listOf("rate", "duration", "warmup", "mix", "seed-rows", "url", "profiles").forEach { name ->
+        findProperty("loadtest.$name")?.let { systemProperty("loadtest.$name", it) }
+    }
+}
+
+// Fast Startup: Spring AOT + AppCDS
+// ---------------------------------
+// -Paot: applies the GraalVM build tools plugin -> Spring Boot runs processAot and puts the
+//        generated bean definitions into the boot jar (used with -Dspring.aot.enabled=true)
+//        @Profile / @Conditional are evaluated at BUILD time: -Paot.profiles=prod,virtual
+// AppCDS: a training run loads all startup classes and dumps them into a shared archive,
+//         later JVMs map the archive instead of loading + verifying the classes again
+//
+//   ./gradlew cdsArchive -Paot         -> build/cds/app/todo-api-1.0.jar + application.jsa
+//   cd build/cds/app && java -Dspring.aot.enabled=true -XX:SharedArchiveFile=application.jsa -jar todo-api-1.0.jar
+//   ./gradlew startupBenchmark -Paot   -> time to first successful request: plain, AOT, AOT+CDS
+if (project.hasProperty("aot")) {
+    apply(plugin = "org.graalvm.buildtools.native")
+    (findProperty("aot.profiles") as String?)?.let { profiles ->
+        tasks.named<JavaExec>("processAot") { args("--spring.profiles.active=$profiles") }
+    }
+}
+
+val cdsAppDir = layout.buildDirectory.dir("cds/app")
+val javaLauncher = javaToolchains.launcherFor { languageVersion = JavaLanguageVersion.of(21) }
+
+// Extracted layout (application jar + lib/), required for CDS: classes must come from plain jars
+val extractBootJar by tasks.registering(Exec::class) {
+    group = "build"
+    description = "Extracts the boot jar into build/cds/app"
+    dependsOn(tasks.bootJar)
+    doFirst {
+        delete(cdsAppDir)
+        commandLine(javaLauncher.get().executablePath.asFile.path, "-Djarmode=tools",
+            "-jar", tasks.bootJar.get().archiveFile.get().asFile.path,
+            "extract", "--destination", cdsAppDir.get().asFile.path)
+    }
+}
+
+// Training run: starts the context, exits after refresh, dumps the loaded classes
+val cdsArchive by tasks.registering(Exec::class) {
+    group = "build"
+    description = "Creates the AppCDS archive build/cds/app/application.jsa from a training run"
+    dependsOn(extractBootJar)
+    doFirst {
+        workingDir = cdsAppDir.get().asFile
+        commandLine(listOfNotNull(
+            javaLauncher.get().executablePath.asFile.path,
+            "-XX:ArchiveClassesAtExit=application.jsa",
+            "-Dspring.context.exit=onRefresh",
+            if (project.hasProperty("aot")) "-Dspring.aot.enabled=true" else null,
+            "-jar", tasks.bootJar.get().archiveFileName.get()))
+    }
+}
+
+tasks.register<JavaExec>("startupBenchmark") {
+    group = "verification"
+    description = "Measures time to first successful request for plain JVM, AOT and AOT+CDS"
+    dependsOn(cdsArchive)
+    classpath = loadtest.runtimeClasspath
+    mainClass = "at.spengergasse.todo.loadtest.StartupBenchmark"
+    doFirst {
+        require(project.hasProperty("aot")) { "startupBenchmark needs an AOT build: ./gradlew startupBenchmark -Paot" }
+        systemProperty("startup.java", javaLauncher.get().executablePath.asFile.path)
+        systemProperty("startup.app-dir", cdsAppDir.get().asFile.path)
+        systemProperty("startup.jar", tasks.bootJar.get().archiveFileName.get())
+        systemProperty("startup.runs", findProperty("startup.runs") ?: "5")
+        systemProperty("startup.report-dir", layout.buildDirectory.dir("reports/startup").get().asFile.path)
+    }
+}
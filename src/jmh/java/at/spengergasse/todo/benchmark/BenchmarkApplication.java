@@ -0,0 +1,66 @@
+package at.spengergasse.todo.benchmark;
+
+import at.spengergasse.todo.TodoApi3Application;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Starts the application for in-process benchmarks
+// ---------------------------------
+// start():    no web server (service layer is called directly)
+// startWeb(): embedded Tomcat on a random free port (HTTP benchmarks)
+// startReactiveWeb(): reactive profile, Netty on a random free port
+// SQL and DEBUG logging turned off, otherwise we would benchmark the console
+// startWithLogging(): no web server, logging as configured (LoggingBenchmark)
+// Arguments are passed as command line args -> they override application.properties
+
+final class BenchmarkApplication {
+
+    private static final List<String> QUIET = List.of(
+            "--spring.jpa.show-sql=false",
+            "--logging.level.root=WARN",
+            "--logging.level.at.spengergasse.todo=WARN",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--logging.level.org.hibernate.orm.jdbc.bind=WARN");
+
+    private BenchmarkApplication() {}
+
+    static ConfigurableApplicationContext start(String... extraArgs) {
+        return run(WebApplicationType.NONE, extraArgs);
+    }
+
+    static ConfigurableApplicationContext startWithLogging(String... args) {
+        return new SpringApplicationBuilder(TodoApi3Application.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+    }
+
+    static ConfigurableApplicationContext startWeb(String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(extraArgs));
+        args.add("--server.port=0");
+        return run(WebApplicationType.SERVLET, args.toArray(String[]::new));
+    }
+
+    static ConfigurableApplicationContext startReactiveWeb(String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(extraArgs));
+        args.add("--server.port=0");
+        args.add("--spring.profiles.active=reactive");
+        return run(WebApplicationType.REACTIVE, args.toArray(String[]::new));
+    }
+
+    static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    private static ConfigurableApplicationContext run(WebApplicationType type, String... extraArgs) {
+        List<String> args = new ArrayList<>(QUIET);
+        args.addAll(List.of(extraArgs));
+
+        return new SpringApplicationBuilder(TodoApi3Application.class)
+                .web(type)
+                .run(args.toArray(String[]::new));
+    }
+}
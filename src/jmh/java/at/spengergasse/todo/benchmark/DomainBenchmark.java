@@ -0,0 +1,70 @@
+package at.spengergasse.todo.benchmark;
+
+import at.spengergasse.todo.model.modelBean.Todo;
+import at.spengergasse.todo.model.modelStrict.Title;
+import at.spengergasse.todo.validation.Guard;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Domain & Validation Hot Paths
+// ---------------------------------
+// Guard.hasTextMax -> runs for every Title (and every imported row)
+// Title            -> value object construction (guard + trim)
+// Todo             -> entity construction and rename (bean model)
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DomainBenchmark {
+
+    private String shortTitle;
+    private String paddedTitle;
+    private String tooLongTitle;
+    private Todo todo;
+
+    @Setup
+    public void setup() {
+        shortTitle = "Buy milk";
+        paddedTitle = "   " + "x".repeat(Title.MAX_LEN - 6) + "   ";
+        tooLongTitle = "x".repeat(Title.MAX_LEN + 1);
+        todo = new Todo(shortTitle);
+    }
+
+    @Benchmark
+    public String guardShortTitle() {
+        return Guard.hasTextMax(shortTitle, Title.MAX_LEN, Title.MAX_LEN_MSG);
+    }
+
+    @Benchmark
+    public String guardPaddedTitle() {
+        return Guard.hasTextMax(paddedTitle, Title.MAX_LEN, Title.MAX_LEN_MSG);
+    }
+
+    // Rejected input: includes the cost of creating the exception (stack trace)
+    @Benchmark
+    public void guardTooLongTitle(Blackhole blackhole) {
+        try {
+            blackhole.consume(Guard.hasTextMax(tooLongTitle, Title.MAX_LEN, Title.MAX_LEN_MSG));
+        } catch (IllegalArgumentException ex) {
+            blackhole.consume(ex);
+        }
+    }
+
+    @Benchmark
+    public Title newTitle() {
+        return new Title(shortTitle);
+    }
+
+    @Benchmark
+    public Todo newTodo() {
+        return new Todo(shortTitle);
+    }
+
+    @Benchmark
+    public Todo renameTodo() {
+        todo.renameTitle(paddedTitle);
+        return todo;
+    }
+}
@@ -0,0 +1,94 @@
+package at.spengergasse.todo.benchmark;
+
+import at.spengergasse.todo.config.JsonCacheProperties;
+import at.spengergasse.todo.controller.TodoJsonCache;
+import at.spengergasse.todo.model.modelBean.Todo;
+import at.spengergasse.todo.viewmodel.TodoPage;
+import at.spengergasse.todo.viewmodel.TodoRequest;
+import at.spengergasse.todo.viewmodel.TodoView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// JSON Serialization Hot Paths
+// ---------------------------------
+// Every response body goes through Jackson:
+//   - Todo           -> POST, PUT
+//   - TodoView       -> GET /api/todos/{id}
+//   - TodoPage       -> GET /api/todos (default page size 50, TodoView items)
+//   - ProblemDetail  -> every 4xx / 5xx (GlobalExceptionHandler)
+//
+// Jackson2ObjectMapperBuilder = same defaults Spring Boot uses
+// (incl. the ProblemDetail mixin)
+//
+// todoViewCached / todoPageCached: TodoJsonCache hits (bytes reused, page concatenated)
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JsonSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Todo todo;
+    private TodoView todoView;
+    private TodoPage<TodoView> page;
+    private ProblemDetail problemDetail;
+    private TodoJsonCache jsonCache;
+
+    @Setup
+    public void setup() {
+        objectMapper = new Jackson2ObjectMapperBuilder().build();
+
+        todo = new Todo("Buy milk");
+        todoView = new TodoView(42L, "Buy milk", 0L);
+        page = new TodoPage<>(
+                IntStream.range(0, 50).mapToObj(i -> new TodoView((long) i, "Benchmark todo " + i, 0L)).toList(),
+                "NTA");
+
+        jsonCache = new TodoJsonCache(objectMapper, new JsonCacheProperties(true, 10_000));
+
+        problemDetail = ProblemDetail.forStatus(HttpStatus.NOT_FOUND);
+        problemDetail.setDetail("Entity with id 42 not found.");
+    }
+
+    @Benchmark
+    public byte[] todo() throws Exception {
+        return objectMapper.writeValueAsBytes(todo);
+    }
+
+    @Benchmark
+    public byte[] todoView() throws Exception {
+        return objectMapper.writeValueAsBytes(todoView);
+    }
+
+    @Benchmark
+    public byte[] todoPage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] todoViewCached() {
+        return jsonCache.toJson(todoView);
+    }
+
+    @Benchmark
+    public byte[] todoPageCached() {
+        return jsonCache.toJson(page);
+    }
+
+    @Benchmark
+    public byte[] problemDetail() throws Exception {
+        return objectMapper.writeValueAsBytes(problemDetail);
+    }
+
+    @Benchmark
+    public Object todoRequestParse() throws Exception {
+        return objectMapper.readValue("{\"title\":\"Buy milk\"}", TodoRequest.class);
+    }
+}
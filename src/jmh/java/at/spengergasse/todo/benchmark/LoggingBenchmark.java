@@ -0,0 +1,81 @@
+package at.spengergasse.todo.benchmark;
+
+import at.spengergasse.todo.services.TodoService;
+import at.spengergasse.todo.viewmodel.TodoRequest;
+import at.spengergasse.todo.viewmodel.TodoView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+// Logging Cost per Request
+// ---------------------------------
+// Same service calls, three logging setups:
+//   dev:  application.properties as is (DEBUG, show-sql, bind parameters, synchronous console)
+//   prod: prod profile (INFO, no SQL, async appender, per-statement sampling)
+//   off:  all logging off (baseline, cost of the service call alone)
+//
+// getOne:    cache off -> transaction + SELECT + log statements
+// roundTrip: create -> get -> update -> delete
+//
+// Console output goes to a null stream: measures formatting, encoding and appender work,
+// not the speed of the terminal (and keeps the JMH output readable)
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoggingBenchmark {
+
+    @Param({"dev", "prod", "off"})
+    public String setup;
+
+    private PrintStream originalOut;
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+    private Long hotId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        context = switch (setup) {
+            case "dev" -> BenchmarkApplication.startWithLogging("--spring.cache.type=none");
+            case "prod" -> BenchmarkApplication.startWithLogging("--spring.cache.type=none",
+                    "--spring.profiles.active=prod");
+            default -> BenchmarkApplication.startWithLogging("--spring.cache.type=none",
+                    "--spring.jpa.show-sql=false",
+                    "--logging.level.root=OFF",
+                    "--logging.level.at.spengergasse.todo=OFF",
+                    "--logging.level.at.spengergasse.todo.services=OFF",
+                    "--logging.level.at.spengergasse.todo.controller=OFF",
+                    "--logging.level.org.hibernate.SQL=OFF",
+                    "--logging.level.org.hibernate.orm.jdbc.bind=OFF");
+        };
+
+        todoService = context.getBean(TodoService.class);
+        hotId = todoService.createTodo(new TodoRequest("Hot todo")).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public TodoView getOne() {
+        return todoService.getOneTodo(hotId);
+    }
+
+    @Benchmark
+    public Long roundTrip() {
+        Long id = todoService.createTodo(new TodoRequest("Round trip")).getId();
+        todoService.getOneTodo(id);
+        todoService.updateTodo(id, new TodoRequest("Round trip renamed"));
+        todoService.deleteTodo(id);
+        return id;
+    }
+}
@@ -0,0 +1,83 @@
+package at.spengergasse.todo.benchmark;
+
+import at.spengergasse.todo.persistence.TodoRepository;
+import at.spengergasse.todo.services.TodoService;
+import at.spengergasse.todo.viewmodel.TodoRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Read Path: Entity Hydration vs. Projection
+// ---------------------------------
+// One "request" = read-only transaction + query + JSON serialization (controller minus HTTP)
+//   entity:     managed Todo entities (+ dirty-checking snapshots), Jackson on the entity
+//   projection: TodoView records from a constructor expression (current read path)
+//
+// page: one keyset page of 50 todos
+// one:  one todo by id (cache turned off, every call hits the database)
+//
+// Heap allocated per request = gc.alloc.rate.norm (bytes/op) of the GC profiler:
+//   ./gradlew jmh -Pjmh.includes=ReadPathBenchmark -Pjmh.profilers=gc
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReadPathBenchmark {
+
+    private static final int PREFILLED_ROWS = 1_000;
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"entity", "projection"})
+    public String path;
+
+    private ConfigurableApplicationContext context;
+    private TodoRepository todoRepository;
+    private TransactionTemplate readOnlyTx;
+    private ObjectMapper objectMapper;
+    private Long hotId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start("--spring.cache.type=none");
+        todoRepository = context.getBean(TodoRepository.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        readOnlyTx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTx.setReadOnly(true);
+
+        TodoService todoService = context.getBean(TodoService.class);
+        IntStream.range(0, PREFILLED_ROWS)
+                .forEach(i -> todoService.createTodo(new TodoRequest("Prefilled todo " + i)));
+        hotId = todoService.createTodo(new TodoRequest("Hot todo")).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] page() throws Exception {
+        List<?> todos = readOnlyTx.execute(status -> path.equals("entity")
+                ? todoRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(PAGE_SIZE))
+                : todoRepository.findViewsByIdGreaterThan(0L, Limit.of(PAGE_SIZE)));
+
+        return objectMapper.writeValueAsBytes(todos);
+    }
+
+    @Benchmark
+    public byte[] one() throws Exception {
+        Object todo = readOnlyTx.execute(status -> path.equals("entity")
+                ? todoRepository.findById(hotId).orElseThrow()
+                : todoRepository.findViewById(hotId).orElseThrow());
+
+        return objectMapper.writeValueAsBytes(todo);
+    }
+}
@@ -0,0 +1,72 @@
+package at.spengergasse.todo.benchmark;
+
+import at.spengergasse.todo.model.modelBean.Todo;
+import at.spengergasse.todo.persistence.TodoRepository;
+import at.spengergasse.todo.services.TodoBatchService;
+import at.spengergasse.todo.services.TodoService;
+import at.spengergasse.todo.viewmodel.TodoRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Rows per second: single-item path vs. batch path
+// ---------------------------------
+// singleItem: TodoService.createTodo() per row -> one transaction + one INSERT per row
+// batch:      TodoBatchService.createTodos()   -> one transaction per chunk, JDBC-batched INSERTs
+//
+// @OperationsPerInvocation(ROWS) -> JMH reports rows/s instead of invocations/s
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(TodoBatchInsertBenchmark.ROWS)
+public class TodoBatchInsertBenchmark {
+
+    static final int ROWS = 1_000;
+
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+    private TodoBatchService todoBatchService;
+    private TodoRepository todoRepository;
+    private List<TodoRequest> todoRequests;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        todoService = context.getBean(TodoService.class);
+        todoBatchService = context.getBean(TodoBatchService.class);
+        todoRepository = context.getBean(TodoRepository.class);
+
+        todoRequests = IntStream.range(0, ROWS)
+                .mapToObj(i -> new TodoRequest("Benchmark todo " + i))
+                .toList();
+    }
+
+    // Keep the table small, otherwise later iterations measure a bigger index
+    @TearDown(Level.Iteration)
+    public void clearTable() {
+        todoRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Todo singleItem() {
+        Todo last = null;
+        for (TodoRequest todoRequest : todoRequests) {
+            last = todoService.createTodo(todoRequest);
+        }
+        return last;
+    }
+
+    @Benchmark
+    public List<Todo> batch() {
+        return todoBatchService.createTodos(todoRequests);
+    }
+}
@@ -0,0 +1,68 @@
+package at.spengergasse.todo.benchmark;
+
+import at.spengergasse.todo.model.modelBean.Todo;
+import at.spengergasse.todo.services.TodoService;
+import at.spengergasse.todo.viewmodel.TodoPage;
+import at.spengergasse.todo.viewmodel.TodoRequest;
+import at.spengergasse.todo.viewmodel.TodoView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// In-Process Service Round Trips (H2 in-memory)
+// ---------------------------------
+// Full service layer: transaction, Hibernate, H2, cache
+// No HTTP: isolates service + persistence cost from Tomcat/Jackson
+//
+// roundTrip: create -> get -> update -> delete (4 transactions)
+// getPage:   one keyset page of 50 todos (table prefilled with 10_000 rows)
+// getOne:    cached read of a hot todo
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TodoServiceBenchmark {
+
+    private static final int PREFILLED_ROWS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private TodoService todoService;
+    private Long hotId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        todoService = context.getBean(TodoService.class);
+
+        IntStream.range(0, PREFILLED_ROWS)
+                .forEach(i -> todoService.createTodo(new TodoRequest("Prefilled todo " + i)));
+        hotId = todoService.createTodo(new TodoRequest("Hot todo")).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<Todo> roundTrip() {
+        Todo created = todoService.createTodo(new TodoRequest("Round trip"));
+        todoService.getOneTodo(created.getId());
+        Optional<Todo> updated = todoService.updateTodo(created.getId(), new TodoRequest("Round trip renamed"));
+        todoService.deleteTodo(created.getId());
+        return updated;
+    }
+
+    @Benchmark
+    public TodoPage<TodoView> getPage() {
+        return todoService.getAllTodos(null, 50);
+    }
+
+    @Benchmark
+    public TodoView getOne() {
+        return todoService.getOneTodo(hotId);
+    }
+}
@@ -0,0 +1,100 @@
+package at.spengergasse.todo.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Servlet/JPA vs. WebFlux/R2DBC under High Fan-In
+// ---------------------------------
+// Same HTTP API, same H2 database engine, 512 concurrent clients
+//   stack=servlet  -> Tomcat (thread per request) + Hibernate + JDBC
+//   stack=reactive -> Netty event loop + R2DBC (reactive profile)
+//
+// Reported per stack:
+//   Throughput  -> requests/s
+//   SampleTime  -> latency distribution incl. p0.99 / p0.999
+//
+// Run: ./gradlew jmh -Pjmh.includes=WebStack
+// Caches off (every request reaches the database), todos are seeded through the API
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(512)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+public class WebStackBenchmark {
+
+    private static final int SEEDED_TODOS = 1_000;
+
+    @Param({"servlet", "reactive"})
+    public String stack;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private List<Long> ids;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException, InterruptedException {
+        String[] args = {"--spring.cache.type=none", "--todo.json-cache.enabled=false"};
+        context = stack.equals("reactive")
+                ? BenchmarkApplication.startReactiveWeb(args)
+                : BenchmarkApplication.startWeb(args);
+
+        baseUrl = "http://localhost:" + BenchmarkApplication.port(context) + "/api/todos";
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        ids = new ArrayList<>(SEEDED_TODOS);
+        for (int i = 0; i < SEEDED_TODOS; i++) {
+            HttpResponse<Void> response = httpClient.send(create("Load todo " + i), HttpResponse.BodyHandlers.discarding());
+            String location = response.headers().firstValue("Location").orElseThrow();
+            ids.add(Long.valueOf(location.substring(location.lastIndexOf('/') + 1)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        httpClient.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int getOne() throws IOException, InterruptedException {
+        Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + id)).GET().build(), 200);
+    }
+
+    @Benchmark
+    public int getPage() throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "?size=20")).GET().build(), 200);
+    }
+
+    @Benchmark
+    public int create() throws IOException, InterruptedException {
+        return send(create("Benchmark todo"), 201);
+    }
+
+    private HttpRequest create(String title) {
+        return HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"title\":\"" + title + "\"}"))
+                .build();
+    }
+
+    private int send(HttpRequest request, int expectedStatus) throws IOException, InterruptedException {
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != expectedStatus)
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        return response.statusCode();
+    }
+}
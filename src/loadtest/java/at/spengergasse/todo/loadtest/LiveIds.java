@@ -0,0 +1,39 @@
+package at.spengergasse.todo.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Ids of todos that exist on the server (seeded + created - deleted)
+// Random pick/take in O(1): remove = swap with the last element
+// synchronized: called by the dispatcher thread and by HttpClient completion threads
+
+final class LiveIds {
+
+    private final List<Long> ids = new ArrayList<>();
+
+    synchronized void add(Long id) {
+        ids.add(id);
+    }
+
+    // Random live id (stays live), null if none left
+    synchronized Long pick(Random random) {
+        return ids.isEmpty() ? null : ids.get(random.nextInt(ids.size()));
+    }
+
+    // Random live id (removed, it is about to be deleted), null if none left
+    synchronized Long take(Random random) {
+        if (ids.isEmpty())
+            return null;
+
+        int index = random.nextInt(ids.size());
+        Long id = ids.get(index);
+        ids.set(index, ids.getLast());
+        ids.removeLast();
+        return id;
+    }
+
+    synchronized int size() {
+        return ids.size();
+    }
+}
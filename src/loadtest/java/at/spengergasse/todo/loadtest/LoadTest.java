@@ -0,0 +1,284 @@
+package at.spengergasse.todo.loadtest;
+
+import at.spengergasse.todo.TodoApi3Application;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// HTTP Load Test: fixed arrival rate, HDR latency histograms
+// ---------------------------------
+// ./gradlew loadTest -Ploadtest.rate=500 -Ploadtest.duration=60 (see LoadTestConfig for all options)
+//
+// Fixed Arrival Rate (open model)
+//   Request i is DUE at start + i / rate, no matter how long earlier requests take
+//   Requests are sent asynchronously (HttpClient.sendAsync), a slow response never delays the next send
+//
+// Coordinated Omission
+//   A closed loop (send -> wait -> send) stops sending while the server stalls,
+//   the stall shows up in ONE sample instead of in every request that should have been sent
+//   Here latency = completion time - DUE time (not actual send time):
+//   if the dispatcher falls behind, the delay is part of the measured latency
+//
+// Output
+//   Console: requests, errors, throughput, p50 / p99 / p999 / max per scenario and in total
+//   errors = unexpected status, transport failure, 201 without usable Location,
+//            and measured requests still in flight when the test stops waiting for them
+//   <report-dir>/<scenario>.hgrm: full percentile distribution (HdrHistogram format, ms)
+
+public final class LoadTest {
+
+    private static final double NANOS_PER_MS = 1_000_000.0;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestConfig config;
+    private final URI baseUri;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final LiveIds liveIds = new LiveIds();
+    private final Map<Scenario, Recorder> recorders = new EnumMap<>(Scenario.class);
+    private final Map<Scenario, LongAdder> errors = new EnumMap<>(Scenario.class);
+    private final Map<Scenario, LongAdder> unfinished = new EnumMap<>(Scenario.class); // <- measured, in flight
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private LoadTest(LoadTestConfig config, URI baseUri) {
+        this.config = config;
+        this.baseUri = baseUri;
+
+        for (Scenario scenario : Scenario.values()) {
+            recorders.put(scenario, new Recorder(3));
+            errors.put(scenario, new LongAdder());
+            unfinished.put(scenario, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+        ConfigurableApplicationContext context = config.url().isBlank() ? startApplication(config) : null;
+        try {
+            URI baseUri = (context != null)
+                    ? URI.create("http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port"))
+                    : URI.create(config.url());
+
+            new LoadTest(config, baseUri).run();
+        } finally {
+            if (context != null)
+                context.close();
+        }
+    }
+
+    // Application on H2 (default datasource), random port, no SQL/DEBUG console logging
+    private static ConfigurableApplicationContext startApplication(LoadTestConfig config) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.at.spengergasse.todo=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.orm.jdbc.bind=WARN"));
+        if (!config.profiles().isBlank())
+            args.add("--spring.profiles.active=" + config.profiles());
+
+        return new SpringApplicationBuilder(TodoApi3Application.class).run(args.toArray(String[]::new));
+    }
+
+
+    private void run() throws IOException, InterruptedException {
+        seed();
+
+        System.out.printf("Load test against %s: %d req/s, warmup %ds, duration %ds, mix %s%n",
+                baseUri, config.rate(), config.warmup().toSeconds(), config.duration().toSeconds(), config.mix());
+
+        WeightedMix mix = new WeightedMix(config.mix());
+        Random random = new Random(42);
+
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / config.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+
+        for (long i = 0; ; i++) {
+            long due = start + i * intervalNanos;
+            if (due >= end)
+                break;
+
+            long wait = due - System.nanoTime();
+            if (wait > 0)
+                LockSupport.parkNanos(wait);
+
+            send(mix.next(random), due, due >= measureFrom, random);
+        }
+
+        awaitInFlight();
+        report(config.duration());
+    }
+
+    // Creates the initial todos (synchronously, not measured)
+    private void seed() throws IOException, InterruptedException {
+        Random random = new Random(7);
+
+        for (int i = 0; i < config.seedRows(); i++) {
+            HttpResponse<Void> response = client.send(
+                    Scenario.CREATE.request(baseUri, liveIds, random), HttpResponse.BodyHandlers.discarding());
+            Long id = idOf(response);
+            if (response.statusCode() != 201 || id == null)
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode());
+
+            liveIds.add(id);
+        }
+    }
+
+    // measured = false during warmup (requests are sent, latencies are not recorded)
+    private void send(Scenario scenario, long due, boolean measured, Random random) {
+        HttpRequest request = HttpRequest.newBuilder(scenario.request(baseUri, liveIds, random), (n, v) -> true)
+                .timeout(REQUEST_TIMEOUT)
+                .build();
+
+        inFlight.incrementAndGet();
+        if (measured)
+            unfinished.get(scenario).increment();
+
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, failure) -> {
+                    try {
+                        long latency = System.nanoTime() - due;
+
+                        boolean ok = failure == null && scenario.isExpected(response.statusCode());
+                        if (ok && scenario == Scenario.CREATE) {
+                            Long id = idOf(response);
+                            if (id != null)
+                                liveIds.add(id);
+                            else
+                                ok = false; // <- 201 without usable Location
+                        }
+
+                        if (measured) {
+                            if (!ok)
+                                errors.get(scenario).increment();
+                            recorders.get(scenario).recordValue(latency);
+                        }
+                    } finally {
+                        if (measured)
+                            unfinished.get(scenario).decrement();
+                        inFlight.decrementAndGet();
+                    }
+                });
+    }
+
+    // Location: /api/todos/42 -> 42, null = missing or not an id
+    private static Long idOf(HttpResponse<?> response) {
+        String location = response.headers().firstValue("Location").orElse(null);
+        if (location == null)
+            return null;
+        try {
+            return Long.valueOf(location.substring(location.lastIndexOf('/') + 1));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline)
+            Thread.sleep(10);
+
+        if (inFlight.get() > 0)
+            System.out.printf("%d requests did not complete within %ds, measured ones count as errors%n",
+                    inFlight.get(), REQUEST_TIMEOUT.toSeconds());
+    }
+
+
+    private void report(Duration measured) throws IOException {
+        Path reportDir = Path.of(config.reportDir());
+        Files.createDirectories(reportDir);
+
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+
+        System.out.printf("%n%-10s %9s %7s %10s %9s %9s %9s %9s%n",
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+
+        for (Scenario scenario : config.mix().keySet()) {
+            Histogram histogram = recorders.get(scenario).getIntervalHistogram();
+            long scenarioErrors = errors.get(scenario).sum() + unfinished.get(scenario).sum();
+
+            printRow(scenario.name().toLowerCase(), histogram, scenarioErrors, measured);
+            writeDistribution(reportDir.resolve(scenario.name().toLowerCase() + ".hgrm"), histogram);
+
+            total.add(histogram);
+            totalErrors += scenarioErrors;
+        }
+
+        printRow("total", total, totalErrors, measured);
+        writeDistribution(reportDir.resolve("total.hgrm"), total);
+        System.out.printf("%nPercentile distributions: %s%n", reportDir.toAbsolutePath());
+    }
+
+    private static void printRow(String name, Histogram histogram, long errors, Duration measured) {
+        System.out.printf("%-10s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                name,
+                histogram.getTotalCount(),
+                errors,
+                histogram.getTotalCount() / (double) measured.toSeconds(),
+                histogram.getValueAtPercentile(50.0) / NANOS_PER_MS,
+                histogram.getValueAtPercentile(99.0) / NANOS_PER_MS,
+                histogram.getValueAtPercentile(99.9) / NANOS_PER_MS,
+                histogram.getMaxValue() / NANOS_PER_MS);
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, NANOS_PER_MS);
+        }
+    }
+
+
+    // Weighted random scenario choice: cumulative weights, one random number per request
+    private static final class WeightedMix {
+
+        private final Scenario[] scenarios;
+        private final int[] cumulative;
+        private final int totalWeight;
+
+        WeightedMix(Map<Scenario, Integer> weights) {
+            scenarios = weights.keySet().toArray(Scenario[]::new);
+            cumulative = new int[scenarios.length];
+
+            int sum = 0;
+            for (int i = 0; i < scenarios.length; i++) {
+                sum += weights.get(scenarios[i]);
+                cumulative[i] = sum;
+            }
+            totalWeight = sum;
+        }
+
+        Scenario next(Random random) {
+            int value = random.nextInt(totalWeight);
+            for (int i = 0; i < cumulative.length; i++)
+                if (value < cumulative[i])
+                    return scenarios[i];
+            return scenarios[scenarios.length - 1];
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package at.spengergasse.todo.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Load Test Settings (system properties loadtest.*, set by ./gradlew loadTest -Ploadtest.*=...)
+// ---------------------------------
+// rate:      requests per second (fixed arrival rate, independent of response times)
+// duration:  measured seconds
+// warmup:    seconds before measuring (JIT, connection pool, caches)
+// mix:       scenario weights, e.g. list=20,get=50,create=10,update=10,delete=5,not_found=5
+// seed-rows: todos created before the run (ids for get/update/delete)
+// url:       base URL of an already running instance (empty -> start the application on H2)
+// profiles:  Spring profiles of the started application (e.g. virtual)
+// report-dir: directory for the .hgrm files
+
+record LoadTestConfig(
+        int rate,
+        Duration duration,
+        Duration warmup,
+        Map<Scenario, Integer> mix,
+        int seedRows,
+        String url,
+        String profiles,
+        String reportDir
+) {
+    private static final String DEFAULT_MIX = "list=20,get=50,create=10,update=10,delete=5,not_found=5";
+
+    static LoadTestConfig fromSystemProperties() {
+        LoadTestConfig config = new LoadTestConfig(
+                Integer.parseInt(property("rate", "200")),
+                Duration.ofSeconds(Long.parseLong(property("duration", "30"))),
+                Duration.ofSeconds(Long.parseLong(property("warmup", "10"))),
+                parseMix(property("mix", DEFAULT_MIX)),
+                Integer.parseInt(property("seed-rows", "1000")),
+                property("url", ""),
+                property("profiles", ""),
+                property("report-dir", "build/reports/loadtest"));
+
+        if (config.rate() <= 0)
+            throw new IllegalArgumentException("loadtest.rate must be positive");
+        if (config.duration().isZero() || config.duration().isNegative())
+            throw new IllegalArgumentException("loadtest.duration must be positive");
+        if (config.seedRows() < 0)
+            throw new IllegalArgumentException("loadtest.seed-rows must not be negative");
+        return config;
+    }
+
+    // "list=20,get=50" -> {LIST=20, GET=50}
+    static Map<Scenario, Integer> parseMix(String mix) {
+        Map<Scenario, Integer> weights = new EnumMap<>(Scenario.class);
+
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2)
+                throw new IllegalArgumentException("loadtest.mix entry is invalid: " + entry);
+
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0)
+                throw new IllegalArgumentException("loadtest.mix weight must not be negative: " + entry);
+            if (weight > 0)
+                weights.put(Scenario.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight);
+        }
+
+        if (weights.isEmpty())
+            throw new IllegalArgumentException("loadtest.mix has no scenario with a positive weight");
+        return weights;
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+}
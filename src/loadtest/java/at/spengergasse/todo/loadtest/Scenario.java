@@ -0,0 +1,57 @@
+package at.spengergasse.todo.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.Random;
+
+// Load Test Scenarios: one HTTP request each
+// ---------------------------------
+// LIST       GET    /api/todos?size=50            -> 200
+// GET        GET    /api/todos/{id}               -> 200
+// CREATE     POST   /api/todos                    -> 201 (new id joins the live ids)
+// UPDATE     PUT    /api/todos/{id}               -> 200 | 204 (single-statement write path)
+// DELETE     DELETE /api/todos/{id}               -> 204 (id leaves the live ids)
+// NOT_FOUND  GET    /api/todos/{id}, unknown id   -> 404
+//
+// GET/UPDATE/DELETE fall back to an unknown id when no live id is left (counted as error)
+
+enum Scenario {
+    LIST, GET, CREATE, UPDATE, DELETE, NOT_FOUND;
+
+    private static final long UNKNOWN_ID = -1L;
+
+    HttpRequest request(URI baseUri, LiveIds liveIds, Random random) {
+        return switch (this) {
+            case LIST -> HttpRequest.newBuilder(baseUri.resolve("/api/todos?size=50")).GET().build();
+            case GET -> HttpRequest.newBuilder(todoUri(baseUri, liveIds.pick(random))).GET().build();
+            case CREATE -> HttpRequest.newBuilder(baseUri.resolve("/api/todos"))
+                    .header("Content-Type", "application/json")
+                    .POST(jsonTitle("Load test todo " + random.nextInt(1_000_000)))
+                    .build();
+            case UPDATE -> HttpRequest.newBuilder(todoUri(baseUri, liveIds.pick(random)))
+                    .header("Content-Type", "application/json")
+                    .PUT(jsonTitle("Load test update " + random.nextInt(1_000_000)))
+                    .build();
+            case DELETE -> HttpRequest.newBuilder(todoUri(baseUri, liveIds.take(random))).DELETE().build();
+            case NOT_FOUND -> HttpRequest.newBuilder(todoUri(baseUri, UNKNOWN_ID)).GET().build();
+        };
+    }
+
+    boolean isExpected(int status) {
+        return switch (this) {
+            case LIST, GET -> status == 200;
+            case CREATE -> status == 201;
+            case UPDATE -> status == 200 || status == 204;
+            case DELETE -> status == 204;
+            case NOT_FOUND -> status == 404;
+        };
+    }
+
+    private static URI todoUri(URI baseUri, Long id) {
+        return baseUri.resolve("/api/todos/" + (id != null ? id : UNKNOWN_ID));
+    }
+
+    private static HttpRequest.BodyPublisher jsonTitle(String title) {
+        return HttpRequest.BodyPublishers.ofString("{\"title\":\"" + title + "\"}");
+    }
+}
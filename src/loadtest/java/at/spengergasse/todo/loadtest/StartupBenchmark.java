@@ -0,0 +1,144 @@
+package at.spengergasse.todo.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Startup Benchmark: time to first successful request
+// ---------------------------------
+// ./gradlew startupBenchmark -Paot [-Pstartup.runs=10]
+//
+// Starts the extracted application (build/cds/app) as a new JVM and polls GET /api/todos
+// until it answers 200. Measured from process start -> includes JVM boot, class loading,
+// Spring context refresh, Tomcat start and the first (cold) request
+//
+//   PLAIN:    java -jar app.jar
+//   AOT:      java -Dspring.aot.enabled=true -jar app.jar       (pre-computed bean definitions)
+//   AOT_CDS:  ... + -XX:SharedArchiveFile=application.jsa      (classes mapped from the archive)
+//
+// Modes take turns per run (plain, aot, aot+cds, plain, ...) so OS caches affect all equally
+// Output of every started JVM: <report-dir>/<mode>-<run>.log
+
+public final class StartupBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(5);
+
+    enum Mode {
+        PLAIN(List.of()),
+        AOT(List.of("-Dspring.aot.enabled=true")),
+        AOT_CDS(List.of("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=application.jsa"));
+
+        private final List<String> jvmArgs;
+
+        Mode(List<String> jvmArgs) {
+            this.jvmArgs = jvmArgs;
+        }
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    private final String java = System.getProperty("startup.java", "java");
+    private final File appDir = new File(System.getProperty("startup.app-dir", "build/cds/app"));
+    private final String jar = System.getProperty("startup.jar", "todo-api-1.0.jar");
+    private final int runs = Integer.parseInt(System.getProperty("startup.runs", "5"));
+    private final Path reportDir = Path.of(System.getProperty("startup.report-dir", "build/reports/startup"));
+
+    public static void main(String[] args) throws Exception {
+        new StartupBenchmark().run();
+    }
+
+    private void run() throws IOException, InterruptedException {
+        Files.createDirectories(reportDir);
+        Map<Mode, List<Long>> results = new EnumMap<>(Mode.class);
+
+        for (int run = 1; run <= runs; run++) {
+            for (Mode mode : Mode.values()) {
+                long millis = timeToFirstRequest(mode, run);
+                results.computeIfAbsent(mode, m -> new ArrayList<>()).add(millis);
+                System.out.printf("run %d %-8s %6d ms%n", run, mode, millis);
+            }
+        }
+
+        System.out.printf("%n%-8s %6s %9s %9s %9s%n", "mode", "runs", "min ms", "median ms", "max ms");
+        results.forEach((mode, millis) -> {
+            List<Long> sorted = millis.stream().sorted().toList();
+            System.out.printf("%-8s %6d %9d %9d %9d%n",
+                    mode, sorted.size(), sorted.getFirst(), sorted.get(sorted.size() / 2), sorted.getLast());
+        });
+    }
+
+    private long timeToFirstRequest(Mode mode, int run) throws IOException, InterruptedException {
+        int port = freePort();
+
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(mode.jvmArgs);
+        command.addAll(List.of("-jar", jar,
+                "--server.port=" + port,
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.at.spengergasse.todo=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.orm.jdbc.bind=WARN"));
+
+        File log = reportDir.resolve(mode.name().toLowerCase(Locale.ROOT) + "-" + run + ".log").toFile();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(appDir)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        try {
+            awaitFirstRequest(URI.create("http://localhost:" + port + "/api/todos"), process, start);
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS))
+                process.destroyForcibly().waitFor();
+        }
+    }
+
+    private void awaitFirstRequest(URI uri, Process process, long start) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+
+        while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+            if (!process.isAlive())
+                throw new IllegalStateException("Application exited with code " + process.exitValue()
+                        + " (see " + reportDir + ")");
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200)
+                    return;
+            } catch (ConnectException ex) {
+                // not listening yet
+            } catch (IOException ex) {
+                // connection reset while starting up
+            }
+            Thread.sleep(POLL_INTERVAL);
+        }
+        throw new IllegalStateException("No successful request within " + TIMEOUT);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
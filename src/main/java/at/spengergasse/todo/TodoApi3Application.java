@@ -2,8 +2,10 @@ package at.spengergasse.todo;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan  // <- binds all @ConfigurationProperties records (config package)
 public class TodoApi3Application {
 
     public static void main(String[] args) {
@@ -0,0 +1,17 @@
+package at.spengergasse.todo.config;
+
+// Batch Settings (todo.batch.*)
+// ---------------------------------
+// chunk-size: operations per transaction in the /api/todos/batch endpoints
+//   - each chunk commits on its own (bounded transaction size and lock time)
+//   - inside a chunk Hibernate sends INSERT/UPDATE statements as JDBC batches
+//     (spring.jpa.properties.hibernate.jdbc.batch_size)
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "todo.batch")
+public record BatchProperties(
+        @DefaultValue("500") int chunkSize
+) { }
@@ -0,0 +1,37 @@
+package at.spengergasse.todo.config;
+
+// Caching (Spring Cache Abstraction + Caffeine)
+// ---------------------------------
+// @Cacheable:   return cached value if present, otherwise call method and cache the result
+// @CacheEvict:  remove entry when the underlying data changes
+//
+// Cache provider and limits are pure configuration (application.properties):
+//   spring.cache.type=caffeine             -> bounded in-process cache
+//   spring.cache.type=none                 -> caching turned off (annotations become no-ops)
+//   spring.cache.caffeine.spec=...         -> maximumSize, expireAfterWrite, recordStats
+//
+// Statistics (recordStats) are exported by Actuator:
+//   GET /actuator/metrics/cache.gets?tag=cache:todos&tag=result:hit
+//   GET /actuator/metrics/cache.gets?tag=cache:todos&tag=result:miss
+
+
+// Advice Order: Cache OUTSIDE Transaction
+// ---------------------------------
+// Both @Cacheable and @Transactional are proxies around TodoService
+// Cache proxy runs before the transaction (only ServiceMetricsAspect runs earlier):
+//   - cache hit  -> no transaction, no connection, no SQL
+//   - @CacheEvict -> runs after the transaction has COMMITTED,
+//                    so no reader can re-cache the old row in between
+
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE + 1)
+public class CacheConfig {
+
+    // Cache names (must match spring.cache.cache-names)
+    public static final String TODOS = "todos";
+}
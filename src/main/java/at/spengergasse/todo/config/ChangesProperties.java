@@ -0,0 +1,24 @@
+package at.spengergasse.todo.config;
+
+// Delta Sync Settings (todo.changes.*, GET /api/todos/changes)
+// ---------------------------------
+// retention:           how long tombstones of deleted todos are kept
+//                      cursors older than this -> 410 Gone (client does a full resync)
+// settle:              changes younger than this are not reported yet
+//                      timestamps are taken before the commit, a transaction that commits
+//                      later than a younger one would otherwise be skipped by the cursor
+//                      -> must be longer than the slowest write transaction
+// compaction-interval: how often old tombstones are removed (TodoChangeService)
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "todo.changes")
+public record ChangesProperties(
+        @DefaultValue("7d") Duration retention,
+        @DefaultValue("2s") Duration settle,
+        @DefaultValue("1h") Duration compactionInterval
+) { }
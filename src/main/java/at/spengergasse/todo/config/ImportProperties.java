@@ -0,0 +1,16 @@
+package at.spengergasse.todo.config;
+
+// Import Settings (todo.import.*)
+// ---------------------------------
+// chunk-size:           valid rows per transaction (one JDBC-batched INSERT round per chunk)
+// max-reported-errors:  rejected rows listed in the response (all rejections are counted)
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "todo.import")
+public record ImportProperties(
+        @DefaultValue("1000") int chunkSize,
+        @DefaultValue("1000") int maxReportedErrors
+) { }
@@ -0,0 +1,16 @@
+package at.spengergasse.todo.config;
+
+// Pre-Serialized JSON Cache (todo.json-cache.*)
+// ---------------------------------
+// enabled:      false -> every GET serializes with Jackson again
+// maximum-size: todos whose JSON bytes are kept (least recently used are evicted first)
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "todo.json-cache")
+public record JsonCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") long maximumSize
+) { }
@@ -0,0 +1,27 @@
+package at.spengergasse.todo.config;
+
+// Pagination Settings (todo.pagination.*)
+// ---------------------------------
+// Bound from application.properties by Spring Boot (@ConfigurationProperties)
+// Record = immutable, type-safe configuration (no setters needed)
+//
+// default-size: page size when the client does not send ?size=
+// max-size:     upper bound, protects heap and latency from ?size=1000000
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "todo.pagination")
+public record PaginationProperties(
+        @DefaultValue("50") int defaultSize,
+        @DefaultValue("500") int maxSize
+) {
+    // Requested size -> effective size, always within 1..maxSize
+    public int resolve(Integer requestedSize) {
+        if (requestedSize == null)
+            return Math.min(defaultSize, maxSize);
+
+        return Math.clamp(requestedSize, 1, maxSize);
+    }
+}
@@ -0,0 +1,89 @@
+package at.spengergasse.todo.config;
+
+// Primary + Replica DataSources (replica profile)
+// ---------------------------------
+// Replaces Boot's single DataSource with three beans:
+//
+//   primaryDataSource   Hikari pool "primary"  (spring.datasource.*, spring.datasource.hikari.*)
+//   replicaDataSource   Hikari pool "replica"  (todo.replica.*)
+//   dataSource          @Primary, used by JPA/Spring Data:
+//                         LazyConnectionDataSourceProxy -> ReadWriteRoutingDataSource -> primary | replica
+//
+// Lazy proxy: a transaction gets a placeholder connection at begin, the real connection
+// (and therefore the route) is taken when the first statement runs.
+// By then the read-only flag of the transaction is known
+//
+// Hibernate's schema (ddl-auto) is created through the routing DataSource outside any
+// read-only transaction -> on the primary; ReplicaStandIn copies it to the replica
+//
+// readYourWritesTaskDecorator: Boot applies a TaskDecorator bean to applicationTaskExecutor,
+// the executor of async request processing -> an export of a pinned client reads from the primary
+
+
+import at.spengergasse.todo.routing.ReadWriteRoutingDataSource;
+import at.spengergasse.todo.routing.ReadYourWrites;
+import at.spengergasse.todo.routing.ReplicaStandIn;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+@Configuration(proxyBeanMethods = false)
+@Profile("replica")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(ReplicaProperties properties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(properties.url());
+        dataSource.setUsername(properties.username());
+        dataSource.setPassword(properties.password());
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaStandIn replicaStandIn(@Qualifier("primaryDataSource") DataSource primary,
+                                         @Qualifier("replicaDataSource") DataSource replica,
+                                         ReplicaProperties properties) {
+        return new ReplicaStandIn(primary, replica, properties.standIn());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaStandIn standIn,
+                                 ReplicaProperties properties) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(properties.maxLag(), standIn::lag);
+        routing.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.Route.PRIMARY, primary,
+                ReadWriteRoutingDataSource.Route.REPLICA, replica));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public TaskDecorator readYourWritesTaskDecorator() {
+        return ReadYourWrites::propagate;
+    }
+}
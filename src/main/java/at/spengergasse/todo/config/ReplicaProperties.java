@@ -0,0 +1,36 @@
+package at.spengergasse.todo.config;
+
+// Read Replica Settings (todo.replica.*, replica profile)
+// ---------------------------------
+// url/username/password: JDBC connection of the replica (primary: spring.datasource.*)
+// max-lag:     replica further behind than this -> read-only transactions go to the primary
+// stickiness:  after a write, the same client reads from the primary for this long
+//              (read-your-writes, 0 = off), see ReadYourWritesFilter
+//
+// stand-in.*: local replication stand-in (ReplicaStandIn), copies the primary to the replica
+//   interval:      time between two snapshots of the primary
+//   simulated-lag: a snapshot is applied this long after it was taken
+//   tables:        tables to copy, parents before children (foreign keys)
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "todo.replica")
+public record ReplicaProperties(
+        @DefaultValue("jdbc:h2:mem:tododb_replica;DB_CLOSE_DELAY=-1") String url,
+        @DefaultValue("sa") String username,
+        @DefaultValue("") String password,
+        @DefaultValue("1s") Duration maxLag,
+        @DefaultValue("2s") Duration stickiness,
+        @DefaultValue StandIn standIn
+) {
+    public record StandIn(
+            @DefaultValue("200ms") Duration interval,
+            @DefaultValue("300ms") Duration simulatedLag,
+            @DefaultValue({"todo", "todo_item", "todo_tombstone"}) List<String> tables
+    ) { }
+}
@@ -0,0 +1,16 @@
+package at.spengergasse.todo.config;
+
+// Background Tasks (@Scheduled)
+// ---------------------------------
+// Enables @Scheduled methods (e.g. SSE heartbeats, tombstone compaction, count reconciliation)
+// Runs on Spring Boot's task scheduler (spring.task.scheduling.*),
+// one thread by default -> scheduled methods must be short and must not block
+
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
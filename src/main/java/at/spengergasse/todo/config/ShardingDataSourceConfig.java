@@ -0,0 +1,60 @@
+package at.spengergasse.todo.config;
+
+// Sharded DataSources (sharding profile)
+// ---------------------------------
+// Replaces Boot's single DataSource:
+//
+//   shardRoutingDataSource   one Hikari pool per todo.sharding.urls entry ("shard-0", "shard-1", ...)
+//   dataSource               @Primary, used by JPA/Spring Data:
+//                              LazyConnectionDataSourceProxy -> ShardRoutingDataSource -> shard k
+//   shardSchemaInitializer   schema + interleaved sequences on every shard
+//
+// Lazy proxy: the transaction's connection is taken at the first statement,
+// after ShardRoutingAspect has bound the shard
+
+
+import at.spengergasse.todo.sharding.ShardRoutingDataSource;
+import at.spengergasse.todo.sharding.ShardSchemaInitializer;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration(proxyBeanMethods = false)
+@Profile("sharding")
+public class ShardingDataSourceConfig {
+
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(ShardingProperties properties) {
+        List<DataSource> shards = new ArrayList<>(properties.urls().size());
+        for (String url : properties.urls()) {
+            HikariDataSource shard = new HikariDataSource();
+            shard.setJdbcUrl(url);
+            shard.setUsername(properties.username());
+            shard.setPassword(properties.password());
+            shard.setPoolName("shard-" + shards.size());
+            shards.add(shard);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shards) {
+        return new LazyConnectionDataSourceProxy(shards);
+    }
+
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(EntityManagerFactory entityManagerFactory,
+                                                         ShardRoutingDataSource shards) throws SQLException {
+        return new ShardSchemaInitializer(entityManagerFactory, shards);
+    }
+}
@@ -0,0 +1,29 @@
+package at.spengergasse.todo.config;
+
+// Sharding Settings (todo.sharding.*, sharding profile)
+// ---------------------------------
+// urls:           one JDBC url per shard, the position in the list is the shard number
+//                 (adding or reordering shards moves ids -> existing data must be resharded)
+// username/password: same credentials for all shards
+// gather-timeout: a scatter-gather query fails when a shard has not answered within this time
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "todo.sharding")
+public record ShardingProperties(
+        @DefaultValue({
+                "jdbc:h2:mem:todo_shard0;DB_CLOSE_DELAY=-1",
+                "jdbc:h2:mem:todo_shard1;DB_CLOSE_DELAY=-1",
+                "jdbc:h2:mem:todo_shard2;DB_CLOSE_DELAY=-1",
+                "jdbc:h2:mem:todo_shard3;DB_CLOSE_DELAY=-1"
+        }) List<String> urls,
+        @DefaultValue("sa") String username,
+        @DefaultValue("") String password,
+        @DefaultValue("5s") Duration gatherTimeout
+) {
+}
@@ -0,0 +1,28 @@
+package at.spengergasse.todo.config;
+
+// Change Feed Settings (todo.stream.*, GET /api/todos/stream)
+// ---------------------------------
+// buffer-size:     events queued per subscriber that have not been written yet
+// overflow:        what happens when a subscriber's buffer is full (slow consumer)
+//                    DROP       -> newest events are dropped, the client gets a "dropped" event
+//                    DISCONNECT -> the stream is closed, the client reconnects and resyncs
+// heartbeat:       comment line sent to idle streams (keeps proxies from closing them)
+// timeout:         max. lifetime of one stream, EventSource clients reconnect automatically
+// max-subscribers: open streams per instance, more -> 503 Service Unavailable
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "todo.stream")
+public record StreamProperties(
+        @DefaultValue("256") int bufferSize,
+        @DefaultValue("DROP") Overflow overflow,
+        @DefaultValue("15s") Duration heartbeat,
+        @DefaultValue("30m") Duration timeout,
+        @DefaultValue("10000") int maxSubscribers
+) {
+    public enum Overflow { DROP, DISCONNECT }
+}
@@ -0,0 +1,34 @@
+package at.spengergasse.todo.config;
+
+// Write Path Settings (todo.write.*)
+// ---------------------------------
+// single-statement: how TodoService updates and deletes a todo
+//   false -> entity path: load the entity, change it, let Hibernate write it
+//            (dirty checking, entity validation on flush), PUT answers 200 + body + ETag
+//   true  -> ONE SQL statement per write (UPDATE/DELETE ... WHERE id = ?),
+//            affected-row count 0 -> 404, PUT answers 204 (opt-in: changes the API contract)
+//
+// group-commit.*: POST /api/todos through TodoGroupCommitService
+//   enabled:        false -> one transaction per create (TodoService.createTodo)
+//   max-batch-size: creates per transaction (one JDBC-batched INSERT round + one commit)
+//   linger:         max. time the first create of a batch waits for more creates
+//   queue-capacity: pending creates, a full queue answers 503 Service Unavailable
+
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "todo.write")
+public record WriteProperties(
+        @DefaultValue("false") boolean singleStatement,
+        @DefaultValue GroupCommit groupCommit
+) {
+    public record GroupCommit(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("100") int maxBatchSize,
+            @DefaultValue("5ms") Duration linger,
+            @DefaultValue("10000") int queueCapacity
+    ) { }
+}
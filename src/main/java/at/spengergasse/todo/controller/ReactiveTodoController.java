@@ -0,0 +1,116 @@
+package at.spengergasse.todo.controller;
+
+// Reactive REST Controller (reactive profile, WebFlux)
+// ---------------------------------
+// Same URLs, status codes, ETags and ProblemDetail errors as TodoController
+// Handler methods return Mono<...> immediately, WebFlux subscribes and writes the response
+// when the database answers -> no thread waits for I/O
+//
+// Endpoint                  | Method  | Status Codes         | Description
+// --------------------------|---------|----------------------|------------------------------------
+// GET /api/todos            | GET     | 200, 304, 400        | Retrieve one page of todos (?cursor=&size=)
+// GET /api/todos/{id}       | GET     | 200, 304, 404        | Retrieve single todo by ID
+// POST /api/todos           | POST    | 201, 400             | Create new todo (Location header)
+// PUT /api/todos/{id}       | PUT     | 200, 204, 400, 404   | Replace entire todo by ID
+// DELETE /api/todos/{id}    | DELETE  | 204, 404             | Delete todo by ID
+//
+// Servlet-only (not served here): search, export, import, batch
+
+
+import at.spengergasse.todo.reactive.ReactiveTodoService;
+import at.spengergasse.todo.viewmodel.TodoPage;
+import at.spengergasse.todo.viewmodel.TodoRequest;
+import at.spengergasse.todo.viewmodel.TodoView;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/todos")
+@RequiredArgsConstructor
+public class ReactiveTodoController
+{
+    private final ReactiveTodoService todoService;
+
+
+    // GET /api/todos?cursor=NTA&size=50 -> 200 OK | 304 Not Modified | 400 Bad Request (invalid cursor)
+    @GetMapping
+    public Mono<ResponseEntity<TodoPage<TodoView>>> getAllTodos(@RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer size,
+                                                                ServerWebExchange exchange)
+    {
+        return todoService.getAllTodos(cursor, size).map(page -> {
+            String eTag = TodoETags.ofPage(page, TodoView::id, TodoView::version);
+            if (exchange.checkNotModified(eTag))
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<TodoPage<TodoView>>build();
+
+            return ResponseEntity.ok().eTag(eTag).body(page);
+        });
+    }
+
+    // GET /api/todos/{id} -> 200 OK | 304 Not Modified | 404 Not Found
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<TodoView>> getOneTodo(@PathVariable Long id, ServerWebExchange exchange)
+    {
+        // Conditional GET: compare against the version only
+        if (!exchange.getRequest().getHeaders().getIfNoneMatch().isEmpty()) {
+            return todoService.getTodoVersion(id).flatMap(version -> {
+                String eTag = TodoETags.of(id, version);
+                return exchange.checkNotModified(eTag)
+                        ? Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<TodoView>build())
+                        : loadOne(id);
+            });
+        }
+
+        return loadOne(id);
+    }
+
+    private Mono<ResponseEntity<TodoView>> loadOne(Long id)
+    {
+        return todoService.getOneTodo(id)
+                .map(todo -> ResponseEntity.ok()
+                        .eTag(TodoETags.of(todo.id(), todo.version()))
+                        .body(todo));
+    }
+
+
+    // POST /api/todos -> 201 Created (Location) + body
+    @PostMapping
+    public Mono<ResponseEntity<TodoView>> createTodo(@RequestBody @Valid TodoRequest todoRequest)
+    {
+        return todoService.createTodo(todoRequest)
+                .map(savedTodo -> ResponseEntity.created(URI.create("/api/todos/" + savedTodo.id()))
+                        .eTag(TodoETags.of(savedTodo.id(), savedTodo.version()))
+                        .body(savedTodo));
+    }
+
+
+    // PUT /api/todos/{id} -> 200 OK + body (ETag) | 204 No Content | 404 Not Found
+    // 204: single-statement write path (todo.write.single-statement=true)
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<TodoView>> updateTodo(@PathVariable Long id, @RequestBody @Valid TodoRequest todoRequest)
+    {
+        return todoService.updateTodo(id, todoRequest)
+                .map(updatedTodo -> ResponseEntity.ok()
+                        .eTag(TodoETags.of(updatedTodo.id(), updatedTodo.version()))
+                        .body(updatedTodo))
+                .defaultIfEmpty(ResponseEntity.noContent().build());
+    }
+
+
+    // DELETE /api/todos/{id} -> 204 No Content | 404 Not Found
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteTodo(@PathVariable Long id)
+    {
+        return todoService.deleteTodo(id)
+                .then(Mono.just(ResponseEntity.noContent().<Void>build()));
+    }
+}
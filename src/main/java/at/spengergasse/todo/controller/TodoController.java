@@ -116,11 +116,38 @@ package at.spengergasse.todo.controller;
 // ---------------------------------------------------------------------------
 // Endpoint                  | Method  | Status Codes    | Description
 // ---------------------------------------------------------------------------
-// GET /api/todos            | GET     | 200             | Retrieve all todos
-// GET /api/todos/{id}       | GET     | 200, 404        | Retrieve single todo by ID
-// POST /api/todos           | POST    | 201, 400        | Create new todo (Location header)
-// PUT /api/todos/{id}       | PUT     | 200, 400, 404   | Replace entire todo by ID
+// GET /api/todos            | GET     | 200, 304, 400   | Retrieve one page of todos (?cursor=&size=&embed=items)
+// GET /api/todos/{id}       | GET     | 200, 304, 404   | Retrieve single todo by ID (?embed=items)
+// POST /api/todos/{id}/items| POST    | 201, 400, 404   | Add a checklist item to a todo
+// POST /api/todos           | POST    | 201, 400, 503   | Create new todo (Location header)
+// PUT /api/todos/{id}       | PUT     | 200, 204, 400, 404 | Replace entire todo by ID
 // DELETE /api/todos/{id}    | DELETE  | 204, 404        | Delete todo by ID
+// GET /api/todos/count      | GET     | 200             | Number of todos (maintained counter, no COUNT query)
+// GET /api/todos/stats      | GET     | 200             | Count + committed creates/updates/deletes of this instance
+// GET /api/todos/search     | GET     | 200, 400        | Ranked title search (?q=&page=&size=)
+// GET /api/todos/export     | GET     | 200             | Stream all todos as NDJSON (one JSON per line)
+// GET /api/todos/stream     | GET     | 200, 503        | Change feed (Server-Sent Events) of committed writes
+// GET /api/todos/changes    | GET     | 200, 400, 410   | Delta sync: changes and deletes since a cursor (?since=&size=)
+// POST /api/todos/import    | POST    | 200             | Bulk load NDJSON / CSV, returns accepted/rejected summary
+// POST /api/todos/batch     | POST    | 201, 400        | Create many todos (chunked transactions)
+// PUT /api/todos/batch      | PUT     | 200, 400, 404   | Update many todos (chunked transactions)
+// DELETE /api/todos/batch   | DELETE  | 200, 400        | Delete many todos (unknown ids are skipped)
+
+
+// Conditional GET (see TodoETags)
+// ---------------------------------
+// GET /api/todos and GET /api/todos/{id} send an ETag header
+// Client repeats the request with If-None-Match: <etag>
+//   - unchanged -> 304 Not Modified, no body is serialized
+//   - changed   -> 200 OK with the new body and ETag
+// For the check only versions are read, the entities are not loaded
+// ?embed=items: no ETag (same version, different representation), always 200
+
+
+// Embedded Items (?embed=items)
+// ---------------------------------
+// Without embed: todos only (cached JSON bytes, cheapest)
+// With embed:    every todo carries its checklist items, still a constant number of queries
 
 
 // JSON Serialization & Deserialization
@@ -140,61 +167,242 @@ package at.spengergasse.todo.controller;
 
 
 import at.spengergasse.todo.model.modelBean.Todo;
+import at.spengergasse.todo.persistence.TodoVersion;
+import at.spengergasse.todo.services.TodoBatchService;
+import at.spengergasse.todo.services.TodoChangeService;
+import at.spengergasse.todo.services.TodoCountService;
+import at.spengergasse.todo.services.TodoGroupCommitService;
+import at.spengergasse.todo.services.TodoImportService;
+import at.spengergasse.todo.services.TodoSearchService;
 import at.spengergasse.todo.services.TodoService;
+import at.spengergasse.todo.viewmodel.TodoBatchDeleteResult;
+import at.spengergasse.todo.viewmodel.TodoBatchRequest;
+import at.spengergasse.todo.viewmodel.TodoBatchUpdate;
+import at.spengergasse.todo.viewmodel.TodoChangePage;
+import at.spengergasse.todo.viewmodel.TodoCount;
+import at.spengergasse.todo.viewmodel.TodoDetailView;
+import at.spengergasse.todo.viewmodel.TodoImportResult;
+import at.spengergasse.todo.viewmodel.TodoItemRequest;
+import at.spengergasse.todo.viewmodel.TodoItemView;
+import at.spengergasse.todo.viewmodel.TodoPage;
 import at.spengergasse.todo.viewmodel.TodoRequest;
+import at.spengergasse.todo.viewmodel.TodoSearchPage;
+import at.spengergasse.todo.viewmodel.TodoStats;
+import at.spengergasse.todo.viewmodel.TodoView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
+@Profile("!reactive") // <- servlet/JPA stack (see ReactiveTodoController)
 @RequestMapping("/api/todos")
 @RequiredArgsConstructor
 public class TodoController
 {
     private final TodoService todoService;
+    private final TodoBatchService todoBatchService;
+    private final TodoGroupCommitService todoGroupCommitService;
+    private final TodoImportService todoImportService;
+    private final TodoSearchService todoSearchService;
+    private final TodoChangeService todoChangeService;
+    private final TodoCountService todoCountService;
+    private final TodoJsonCache todoJsonCache;
+    private final TodoEventStream todoEventStream;
+    private final ObjectMapper objectMapper;
+
+
+    // GET /api/todos?cursor=NTA&size=50 -> 200 OK | 304 Not Modified | 400 Bad Request (invalid cursor)
+    // First page: no cursor. Next page: cursor = nextCursor of the previous response
+    // Body is concatenated from pre-serialized todos (TodoJsonCache)
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getAllTodos(@RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer size,
+                                              @RequestParam(required = false) String embed,
+                                              WebRequest request)
+    {
+        if (embedsItems(embed)) {
+            TodoPage<TodoDetailView> page = todoService.getAllTodosWithItems(cursor, size);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(toJson(page));
+        }
+
+        // Conditional GET: compare against (id, version) pairs of the page only
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            TodoPage<TodoVersion> versions = todoService.getTodoPageVersions(cursor, size);
+            if (request.checkNotModified(TodoETags.ofPage(versions, TodoVersion::id, TodoVersion::version)))
+                return null; // 304 Not Modified (status and ETag already set)
+        }
+
+        TodoPage<TodoView> page = todoService.getAllTodos(cursor, size);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(TodoETags.ofPage(page, TodoView::id, TodoView::version))
+                .body(todoJsonCache.toJson(page));
+    }
+
+    // GET /api/todos/{id} -> 200 OK | 304 Not Modified | 404 Not Found
+    // Body: pre-serialized JSON bytes of this version (TodoJsonCache), no Jackson on a hit
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getOneTodo(@PathVariable Long id,
+                                             @RequestParam(required = false) String embed,
+                                             WebRequest request)
+    {
+        if (embedsItems(embed)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(toJson(todoService.getOneTodoWithItems(id)));
+        }
+
+        // Conditional GET: compare against the version only
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(TodoETags.of(id, todoService.getTodoVersion(id))))
+            return null; // 304 Not Modified (status and ETag already set)
+
+        TodoView todo = todoService.getOneTodo(id);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(TodoETags.of(todo.id(), todo.version()))
+                .body(todoJsonCache.toJson(todo));
+    }
 
 
-    // GET /api/todos -> 200 OK
-    @GetMapping
-    public List<Todo> getAllTodos()
+    // GET /api/todos/count -> 200 OK + { "count": 1234 }
+    // Served from in-memory counters (TodoCountService), no SQL
+    @GetMapping("/count")
+    public TodoCount countTodos()
+    {
+        return todoCountService.getCount();
+    }
+
+    // GET /api/todos/stats -> 200 OK + { count, created, updated, deleted, reconciledAt }
+    @GetMapping("/stats")
+    public TodoStats getStats()
     {
-        return todoService.getAllTodos();
+        return todoCountService.getStats();
     }
 
-    // GET /api/todos/{id} -> 200 OK | 404 Not Found
-    @GetMapping("/{id}")
-    public Todo getOneTodo(@PathVariable Long id)
+
+    // POST /api/todos/{id}/items -> 201 Created + item | 400 Bad Request | 404 Not Found (unknown todo)
+    @PostMapping("/{id}/items")
+    public ResponseEntity<TodoItemView> addItem(@PathVariable Long id, @RequestBody @Valid TodoItemRequest itemRequest)
+    {
+        TodoItemView item = todoService.addItem(id, itemRequest);
+
+        return ResponseEntity.created(URI.create("/api/todos/" + id + "?embed=items"))
+                .body(item);
+    }
+
+
+    // GET /api/todos/search?q=milk&page=0&size=20 -> 200 OK | 400 Bad Request (q shorter than 3 chars)
+    // Substring search on the title (case-insensitive), served from the in-memory index
+    @GetMapping("/search")
+    public TodoSearchPage searchTodos(@RequestParam(required = false) String q,
+                                      @RequestParam(required = false) Integer page,
+                                      @RequestParam(required = false) Integer size)
+    {
+        return todoSearchService.search(q, page, size);
+    }
+
+
+    // GET /api/todos/export -> 200 OK, Content-Type: application/x-ndjson
+    // {"id":1,"title":"a",...}\n{"id":2,"title":"b",...}\n ...
+    //
+    // StreamingResponseBody: written on an async thread, chunked transfer encoding
+    // Each todo is serialized and written as soon as it is read from the database,
+    // memory use does not grow with the number of rows
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportTodos()
+    {
+        StreamingResponseBody body = out -> todoService.exportTodos(todo -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(todo));
+                out.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex); // e.g. client disconnected -> stops the export
+            }
+        });
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+
+    // GET /api/todos/stream -> 200 OK, Content-Type: text/event-stream | 503 (too many streams)
+    // Open stream, one event per committed create/update/delete (see TodoEventStream)
+    // Browser: new EventSource("/api/todos/stream").addEventListener("UPDATED", e => ...)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTodos()
+    {
+        return todoEventStream.subscribe();
+    }
+
+
+    // GET /api/todos/changes?since=...&size=500 -> 200 OK | 400 Bad Request (invalid cursor) | 410 Gone (expired)
+    // First sync: no since. Next sync: since = nextCursor of the previous response
+    // hasMore=true -> call again right away with the new cursor
+    @GetMapping("/changes")
+    public TodoChangePage getChanges(@RequestParam(required = false) String since,
+                                     @RequestParam(required = false) Integer size)
     {
-        return todoService.getOneTodo(id);
+        return todoChangeService.getChanges(since, size);
     }
 
 
-    // POST /api/todos -> 201 Created (Location) + body
+    // POST /api/todos -> 201 Created (Location) + body | 503 Service Unavailable (group commit queue full)
     // Location: /api/todos/1
+    // CompletableFuture: the response is written when the todo has COMMITTED
+    //   group commit off -> already complete (one transaction per call)
+    //   group commit on  -> the request thread is released while the create waits for its batch
     @PostMapping
-    public ResponseEntity<Todo> createTodo(@RequestBody @Valid TodoRequest todoRequest)
+    public CompletableFuture<ResponseEntity<Todo>> createTodo(@RequestBody @Valid TodoRequest todoRequest)
     {
-        Todo savedTodo = todoService.createTodo(todoRequest);
+        return todoGroupCommitService.createTodo(todoRequest).thenApply(this::created);
+    }
 
+    private ResponseEntity<Todo> created(Todo savedTodo)
+    {
         URI location = URI.create("/api/todos/" + savedTodo.getId());
 
         return ResponseEntity.created(location)
+                .eTag(TodoETags.of(savedTodo.getId(), savedTodo.getVersion()))
                 .body(savedTodo);
-
     }
 
 
-    // PUT /api/todos/{id} -> 200 OK + body | 404 Not Found
+    // PUT /api/todos/{id} -> 200 OK + body (ETag) | 204 No Content | 404 Not Found
     // Replaces entire todo
+    // 204: single-statement write path (todo.write.single-statement=true), no body loaded
     @PutMapping("/{id}")
-    public Todo updateTodo(@PathVariable Long id, @RequestBody @Valid TodoRequest todoRequest)
+    public ResponseEntity<Todo> updateTodo(@PathVariable Long id, @RequestBody @Valid TodoRequest todoRequest)
     {
-        return todoService.updateTodo(id, todoRequest);
+        return todoService.updateTodo(id, todoRequest)
+                .map(updatedTodo -> ResponseEntity.ok()
+                        .eTag(TodoETags.of(updatedTodo.getId(), updatedTodo.getVersion()))
+                        .body(updatedTodo))
+                .orElseGet(() -> ResponseEntity.noContent().build());
     }
 
 
@@ -207,4 +415,68 @@ public class TodoController
         return ResponseEntity.noContent()
                 .build();
     }
+
+
+    // POST /api/todos/batch -> 201 Created + body (all created todos)
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<Todo> createTodos(@RequestBody @Valid TodoBatchRequest<TodoRequest> batchRequest)
+    {
+        return todoBatchService.createTodos(batchRequest.items());
+    }
+
+
+    // PUT /api/todos/batch -> 200 OK + body | 404 Not Found (first unknown id)
+    @PutMapping("/batch")
+    public List<Todo> updateTodos(@RequestBody @Valid TodoBatchRequest<TodoBatchUpdate> batchRequest)
+    {
+        return todoBatchService.updateTodos(batchRequest.items());
+    }
+
+
+    // DELETE /api/todos/batch -> 200 OK + { requested, deleted }
+    @DeleteMapping("/batch")
+    public TodoBatchDeleteResult deleteTodos(@RequestBody @Valid TodoBatchRequest<Long> batchRequest)
+    {
+        return todoBatchService.deleteTodos(batchRequest.items());
+    }
+
+
+    // POST /api/todos/import (Content-Type: application/x-ndjson) -> 200 OK + summary
+    // InputStream parameter = raw request body, read line by line (not buffered as a whole)
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public TodoImportResult importNdjson(InputStream body) throws IOException
+    {
+        return todoImportService.importTodos(
+                new InputStreamReader(body, StandardCharsets.UTF_8), TodoImportService.Format.NDJSON);
+    }
+
+
+    // POST /api/todos/import (Content-Type: text/csv) -> 200 OK + summary
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public TodoImportResult importCsv(InputStream body) throws IOException
+    {
+        return todoImportService.importTodos(
+                new InputStreamReader(body, StandardCharsets.UTF_8), TodoImportService.Format.CSV);
+    }
+
+
+    // ?embed=items -> true, no embed -> false, anything else -> 400 Bad Request
+    private static boolean embedsItems(String embed)
+    {
+        if (embed == null)
+            return false;
+        if (!embed.equals("items"))
+            throw new IllegalArgumentException("embed must be 'items'");
+        return true;
+    }
+
+    private byte[] toJson(Object body)
+    {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
 }
@@ -0,0 +1,40 @@
+package at.spengergasse.todo.controller;
+
+// HTTP Conditional Requests (ETag / If-None-Match)
+// ---------------------------------
+// Reference: https://developer.mozilla.org/en-US/docs/Web/HTTP/Headers/ETag
+//
+// 1. GET /api/todos/1            -> 200 OK, ETag: "1.3" + body
+// 2. GET /api/todos/1
+//    If-None-Match: "1.3"        -> 304 Not Modified, NO body (todo unchanged)
+//
+// Strong ETags derived from @Version:
+//   - single todo: "<id>.<version>" (version changes on every UPDATE)
+//   - page:        hash over (id, version) of all items + next cursor
+//                  (any create, update or delete inside the page changes it)
+
+
+import at.spengergasse.todo.viewmodel.TodoPage;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+final class TodoETags {
+
+    private TodoETags() {}
+
+    static String of(Long id, Long version) {
+        return "\"" + id + "." + version + "\"";
+    }
+
+    static <T> String ofPage(TodoPage<T> page, Function<T, Long> idOf, Function<T, Long> versionOf) {
+        long hash = 1;
+        for (T item : page.items()) {
+            hash = 31 * hash + Objects.hashCode(idOf.apply(item));
+            hash = 31 * hash + Objects.hashCode(versionOf.apply(item));
+        }
+        hash = 31 * hash + Objects.hashCode(page.nextCursor());
+
+        return "\"p" + page.items().size() + "." + Long.toHexString(hash) + "\"";
+    }
+}
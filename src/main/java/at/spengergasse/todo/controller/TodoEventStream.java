@@ -0,0 +1,202 @@
+package at.spengergasse.todo.controller;
+
+// Change Feed (Server-Sent Events, GET /api/todos/stream)
+// ---------------------------------
+// Instead of polling GET /api/todos, clients keep ONE connection open and receive
+// every committed change:
+//
+//   id: 17
+//   event: UPDATED
+//   data: {"type":"UPDATED","id":42,"title":"Buy milk","version":3}
+//
+// Source: TodoEvent, delivered by @TransactionalEventListener -> only COMMITTED changes
+//
+// No Thread per Connection
+//   SseEmitter = async request: Tomcat (NIO) keeps the socket, no thread waits on an idle stream
+//   Writes happen on short-lived virtual threads, only while a subscriber has queued events
+//
+// Slow Consumers
+//   Every subscriber has its own bounded queue (todo.stream.buffer-size)
+//   The committing thread only offers to the queues, it never waits for a client
+//   Full queue -> todo.stream.overflow: DROP (client gets a "dropped" event) | DISCONNECT
+//
+// Events are serialized ONCE and the same frame is queued for all subscribers
+// No replay (Last-Event-ID): after a reconnect clients resync with GET /api/todos
+
+
+import at.spengergasse.todo.config.StreamProperties;
+import at.spengergasse.todo.services.TodoEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Profile("!reactive")
+public class TodoEventStream {
+
+    private static final Logger log = LoggerFactory.getLogger(TodoEventStream.class);
+
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> HEARTBEAT =
+            SseEmitter.event().comment("heartbeat").build();
+
+    private final StreamProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Counter droppedEvents;
+
+    private final Map<SseEmitter, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public TodoEventStream(StreamProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.droppedEvents = Counter.builder("todo.stream.dropped")
+                .description("Change feed events dropped for slow subscribers")
+                .register(meterRegistry);
+        Gauge.builder("todo.stream.subscribers", subscribers, Map::size)
+                .description("Open change feed streams")
+                .register(meterRegistry);
+    }
+
+
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= properties.maxSubscribers())
+            throw new RejectedExecutionException("Too many open streams, retry later");
+
+        SseEmitter emitter = new SseEmitter(properties.timeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(properties.bufferSize()));
+
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(ex -> subscribers.remove(emitter));
+        subscribers.put(emitter, subscriber);
+
+        log.debug("Stream opened ({} subscribers)", subscribers.size());
+        return emitter;
+    }
+
+
+    // After commit, on the committing thread: serialize once, offer to every queue, never block
+    @TransactionalEventListener
+    void onTodoEvent(TodoEvent event) {
+        if (subscribers.isEmpty())
+            return;
+
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = SseEmitter.event()
+                .id(String.valueOf(sequence.incrementAndGet()))
+                .name(event.type().name())
+                .data(toJson(event), MediaType.APPLICATION_JSON)
+                .build();
+
+        subscribers.values().forEach(subscriber -> subscriber.offer(frame));
+    }
+
+    @Scheduled(fixedRateString = "${todo.stream.heartbeat:15s}")
+    void sendHeartbeats() {
+        subscribers.values().forEach(subscriber -> subscriber.offerHeartbeat());
+    }
+
+    @PreDestroy
+    void close() {
+        subscribers.keySet().forEach(SseEmitter::complete);
+        writers.shutdown();
+    }
+
+    private String toJson(TodoEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+
+    // One open stream: bounded queue + at most one writer at a time
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        private final AtomicBoolean writing = new AtomicBoolean();
+        private final AtomicLong dropped = new AtomicLong();
+
+        Subscriber(SseEmitter emitter, BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue) {
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            if (!queue.offer(frame)) {
+                droppedEvents.increment();
+
+                if (properties.overflow() == StreamProperties.Overflow.DISCONNECT) {
+                    log.warn("Closing slow stream (buffer of {} events full)", properties.bufferSize());
+                    subscribers.remove(emitter);
+                    emitter.complete();
+                    return;
+                }
+                dropped.incrementAndGet();
+            }
+            scheduleWrite();
+        }
+
+        // Only for idle streams, a busy stream proves it is alive anyway
+        void offerHeartbeat() {
+            if (queue.isEmpty() && queue.offer(HEARTBEAT))
+                scheduleWrite();
+        }
+
+        private void scheduleWrite() {
+            if (writing.compareAndSet(false, true))
+                writers.execute(this::write);
+        }
+
+        private void write() {
+            try {
+                Set<ResponseBodyEmitter.DataWithMediaType> frame;
+                while ((frame = queue.poll()) != null) {
+                    long lost = dropped.getAndSet(0);
+                    if (lost > 0)
+                        emitter.send(SseEmitter.event().name("dropped").data("{\"count\":" + lost + "}",
+                                MediaType.APPLICATION_JSON));
+                    emitter.send(frame);
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // client is gone (or emitter already completed)
+                subscribers.remove(emitter);
+                emitter.completeWithError(ex);
+                return;
+            } finally {
+                writing.set(false);
+            }
+
+            // An event may have arrived after the last poll() but before writing was reset
+            if (!queue.isEmpty())
+                scheduleWrite();
+        }
+    }
+}
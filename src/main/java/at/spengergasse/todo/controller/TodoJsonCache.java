@@ -0,0 +1,106 @@
+package at.spengergasse.todo.controller;
+
+// Pre-Serialized JSON (UTF-8 bytes per todo)
+// ---------------------------------
+// Hot todos are requested again and again, Jackson would serialize the same record every time
+// Instead: serialize ONCE, keep the bytes, write them to the response as they are
+//
+//   id -> (version, {"id":1,"title":"Buy milk","version":3})
+//
+// Keyed by id AND version: bytes are only used when the version matches the todo being served
+//   - a stale entry can never be sent, even if a concurrent reader re-cached an old version
+//   - updates/deletes remove the entry after commit (TodoEvent), so old bytes do not waste memory
+//
+// Pages are concatenated from the same fragments:
+//   {"items":[ <todo 1> , <todo 2> , ... ],"nextCursor":"NTA"}
+// -> same JSON as Jackson would write for TodoPage<TodoView>
+
+
+import at.spengergasse.todo.config.JsonCacheProperties;
+import at.spengergasse.todo.services.TodoEvent;
+import at.spengergasse.todo.viewmodel.TodoPage;
+import at.spengergasse.todo.viewmodel.TodoView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@Component
+@Profile("!reactive")
+public class TodoJsonCache {
+
+    private static final byte[] PAGE_START = "{\"items\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PAGE_CURSOR = "],\"nextCursor\":".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Cache<Long, Fragment> fragments;
+
+    private record Fragment(Long version, byte[] json) { }
+
+    public TodoJsonCache(ObjectMapper objectMapper, JsonCacheProperties properties) {
+        this.objectMapper = objectMapper;
+        this.enabled = properties.enabled();
+        this.fragments = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .build();
+    }
+
+
+    // {"id":1,"title":"Buy milk","version":3}
+    public byte[] toJson(TodoView todo) {
+        if (!enabled)
+            return serialize(todo);
+
+        Fragment cached = fragments.getIfPresent(todo.id());
+        if (cached != null && cached.version().equals(todo.version()))
+            return cached.json();
+
+        byte[] json = serialize(todo);
+        fragments.put(todo.id(), new Fragment(todo.version(), json));
+        return json;
+    }
+
+    // {"items":[...],"nextCursor":"NTA"}
+    public byte[] toJson(TodoPage<TodoView> page) {
+        List<TodoView> items = page.items();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + items.size() * 64);
+
+        out.writeBytes(PAGE_START);
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0)
+                out.write(',');
+            out.writeBytes(toJson(items.get(i)));
+        }
+        out.writeBytes(PAGE_CURSOR);
+        out.writeBytes(page.nextCursor() != null ? serialize(page.nextCursor()) : NULL);
+        out.write('}');
+
+        return out.toByteArray();
+    }
+
+
+    // After commit: the old bytes can never be served again (version check), just free them
+    @TransactionalEventListener
+    void onTodoEvent(TodoEvent event) {
+        if (event.type() != TodoEvent.Type.CREATED)
+            fragments.invalidate(event.id());
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package at.spengergasse.todo.exceptions;
+
+// Delta sync cursor is older than the tombstone retention:
+// deletes since then may already be compacted -> client must resync from scratch (410 Gone)
+
+public class CursorExpiredException extends RuntimeException
+{
+    public CursorExpiredException(String message) {
+        super(message);
+    }
+}
@@ -1,13 +1,21 @@
 package at.spengergasse.todo.exceptions;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.util.concurrent.RejectedExecutionException;
 
 // Global Exception Handling
 // ---------------------------------
@@ -16,6 +24,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 //   - Intercepts exceptions thrown from controller/service layers
 //   - Converts exceptions to HTTP responses (ProblemDetail)
 //   - Eliminates need for try-catch in controllers
+//   - Same handlers for TodoController (servlet) and ReactiveTodoController (WebFlux)
 //
 // Exception Flow:
 //   Controller/Service throws exception → @ExceptionHandler catches it ->
@@ -37,17 +46,43 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 //   - Log full details server-side for debugging
 
 
+// Metrics
+// ---------------------------------
+// Every handled exception increments a counter (exposed at /actuator/prometheus):
+//   todo_http_errors_total{status="404", exception="ServiceException"}
+// Alert on rate(todo_http_errors_total{status="500"}[5m]) instead of grepping logs
+
+
 // Exception Handling Strategy
 // ---------------------------------
 // 400 BAD_REQUEST       -> Validation failures (client error)
 // 404 NOT_FOUND         -> Entity not found (client error)
+// 410 GONE              -> Delta sync cursor older than the tombstone retention (full resync)
 // 500 INTERNAL_SERVER   -> Unexpected errors (server error)
+// 503 SERVICE_UNAVAILABLE -> Write queue full (back pressure, client should retry)
 
 @RestControllerAdvice
 class GlobalExceptionHandler
 {
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final Meter.MeterProvider<Counter> errorCounter;
+
+    GlobalExceptionHandler(MeterRegistry meterRegistry)
+    {
+        this.errorCounter = Counter.builder("todo.http.errors")
+                .description("Exceptions converted to error responses")
+                .withRegistry(meterRegistry);
+    }
+
+    private void countError(HttpStatus status, Exception ex)
+    {
+        errorCounter.withTags(
+                        "status", String.valueOf(status.value()),
+                        "exception", ex.getClass().getSimpleName())
+                .increment();
+    }
+
 
     // 404 NOT_FOUND - Service Layer Exceptions
     // ---------------------------------
@@ -57,6 +92,7 @@ class GlobalExceptionHandler
     {
         // Log with context for monitoring
         log.warn("[404 NOT_FOUND] ServiceException: {}", ex.getMessage());
+        countError(HttpStatus.NOT_FOUND, ex);
 
         ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.NOT_FOUND);
         problemDetail.setDetail(ex.getMessage());
@@ -73,6 +109,7 @@ class GlobalExceptionHandler
         // Log validation failure with exception type
         log.warn("[400 BAD_REQUEST] Domain validation failed: {} ({})",
                 ex.getMessage(), ex.getClass().getSimpleName());
+        countError(HttpStatus.BAD_REQUEST, ex);
 
         ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
 
@@ -100,6 +137,29 @@ class GlobalExceptionHandler
         int errorCount = ex.getBindingResult().getFieldErrors().size();
         log.warn("[400 BAD_REQUEST] DTO validation failed: {} (total {} validation error(s))",
                 msg, errorCount);
+        countError(HttpStatus.BAD_REQUEST, ex);
+
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
+        problemDetail.setDetail(msg);
+        return problemDetail;
+    }
+
+
+    // 400 BAD_REQUEST - DTO Validation (@Valid) on the reactive stack
+    // ---------------------------------
+    // WebFlux reports @Valid failures as WebExchangeBindException -> same ProblemDetail as above
+    @ExceptionHandler(WebExchangeBindException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    ProblemDetail onReactiveDtoValidation(WebExchangeBindException ex)
+    {
+        String msg = ex.getBindingResult().getFieldErrors().stream()
+                .findFirst()
+                .map(err -> err.getField() + ": " + err.getDefaultMessage())
+                .orElse("Validation failed");
+
+        log.warn("[400 BAD_REQUEST] DTO validation failed: {} (total {} validation error(s))",
+                msg, ex.getBindingResult().getFieldErrors().size());
+        countError(HttpStatus.BAD_REQUEST, ex);
 
         ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
         problemDetail.setDetail(msg);
@@ -124,6 +184,7 @@ class GlobalExceptionHandler
         int violationCount = ex.getConstraintViolations().size();
         log.warn("[400 BAD_REQUEST] Entity validation failed: {} (total {} violation(s))",
                 msg, violationCount);
+        countError(HttpStatus.BAD_REQUEST, ex);
 
         ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.BAD_REQUEST);
         problemDetail.setDetail(msg);
@@ -131,6 +192,39 @@ class GlobalExceptionHandler
     }
 
 
+    // 410 GONE - Expired Delta Sync Cursor
+    // ---------------------------------
+    @ExceptionHandler(CursorExpiredException.class)
+    @ResponseStatus(HttpStatus.GONE)
+    ProblemDetail onCursorExpired(CursorExpiredException ex)
+    {
+        log.warn("[410 GONE] {}", ex.getMessage());
+        countError(HttpStatus.GONE, ex);
+
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.GONE);
+        problemDetail.setDetail(ex.getMessage());
+        return problemDetail;
+    }
+
+
+    // 503 SERVICE_UNAVAILABLE - Back Pressure (e.g. group commit queue full)
+    // ---------------------------------
+    @ExceptionHandler(RejectedExecutionException.class)
+    ResponseEntity<ProblemDetail> onRejected(RejectedExecutionException ex)
+    {
+        log.warn("[503 SERVICE_UNAVAILABLE] Request rejected: {}", ex.getMessage());
+        countError(HttpStatus.SERVICE_UNAVAILABLE, ex);
+
+        ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.SERVICE_UNAVAILABLE);
+        problemDetail.setDetail(ex.getMessage());
+
+        // Retry-After: hint for well-behaved clients
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(problemDetail);
+    }
+
+
     // 500 INTERNAL_SERVER_ERROR - Catch-all for Unexpected Exceptions
     // ---------------------------------
     @ExceptionHandler(Exception.class)
@@ -141,6 +235,7 @@ class GlobalExceptionHandler
         // This should trigger alerts in production monitoring
         log.error("[500 INTERNAL_SERVER_ERROR] Unexpected exception of type {}: {}",
                 ex.getClass().getName(), ex.getMessage(), ex);
+        countError(HttpStatus.INTERNAL_SERVER_ERROR, ex);
 
         ProblemDetail problemDetail = ProblemDetail.forStatus(HttpStatus.INTERNAL_SERVER_ERROR);
 
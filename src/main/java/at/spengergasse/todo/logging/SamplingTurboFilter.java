@@ -0,0 +1,88 @@
+package at.spengergasse.todo.logging;
+
+// Per-Operation Log Sampling (Logback TurboFilter, prod profile, see logback-spring.xml)
+// ---------------------------------
+// Hot paths log one INFO line per call ("Found todo with id: {}")
+// At thousands of requests per second that is thousands of lines per second of the same kind
+//
+// Sampling: at most maxPerSecond events per OPERATION and second, the rest is dropped
+//   - operation = message template (one per log statement, known before formatting)
+//   - only INFO and below from loggers starting with loggerPrefix are sampled
+//   - WARN and ERROR always pass (never sample away problems)
+//
+// TurboFilters run BEFORE the message is formatted and before an appender is involved:
+// a dropped event costs one map lookup and one CAS, nothing is formatted or queued
+
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class SamplingTurboFilter extends TurboFilter {
+
+    // Guard against templates built by string concatenation (one "operation" per call)
+    private static final int MAX_OPERATIONS = 1_000;
+
+    private final ConcurrentMap<String, AtomicLong> windows = new ConcurrentHashMap<>();
+
+    private int maxPerSecond = 10;
+    private String loggerPrefix = "";
+
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // isXxxEnabled() checks (format == null), errors and foreign loggers are not sampled
+        if (format == null || level.isGreaterOrEqual(Level.WARN) || !logger.getName().startsWith(loggerPrefix))
+            return FilterReply.NEUTRAL;
+
+        // Disabled level: let the normal level check drop it, without using up the budget
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel()))
+            return FilterReply.NEUTRAL;
+
+        AtomicLong window = windows.get(format);
+        if (window == null) {
+            if (windows.size() >= MAX_OPERATIONS)
+                return FilterReply.NEUTRAL;
+            window = windows.computeIfAbsent(format, key -> new AtomicLong());
+        }
+
+        return tryAcquire(window, System.currentTimeMillis() / 1000) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    // Window state in one long: upper 32 bits = second, lower 32 bits = events in that second
+    private boolean tryAcquire(AtomicLong window, long second) {
+        while (true) {
+            long state = window.get();
+            long stateSecond = state >>> 32;
+            int count = (int) state;
+
+            long next;
+            if (stateSecond != second)
+                next = (second << 32) | 1;                 // new second -> new budget
+            else if (count < maxPerSecond)
+                next = state + 1;
+            else
+                return false;                              // budget of this second used up
+
+            if (window.compareAndSet(state, next))
+                return true;
+        }
+    }
+
+
+    // --- Configuration (set by Logback from logback-spring.xml) ---
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+}
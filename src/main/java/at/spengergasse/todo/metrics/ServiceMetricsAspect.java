@@ -0,0 +1,68 @@
+package at.spengergasse.todo.metrics;
+
+// Service Metrics (Micrometer Timers)
+// ---------------------------------
+// One timer per service method, with percentile histogram buckets:
+//   todo.service{class="TodoService", method="getOneTodo", outcome="success|not_found|error"}
+//
+// Exposed at /actuator/prometheus as todo_service_seconds_bucket/_count/_sum
+// Percentiles are computed at query time (aggregatable over all instances):
+//   histogram_quantile(0.99, sum by (le, method) (rate(todo_service_seconds_bucket[5m])))
+
+
+// Aspect Order
+// ---------------------------------
+// HIGHEST_PRECEDENCE -> outermost proxy around the service methods
+// Measures the full call as seen by the controller: cache, transaction, SQL
+
+
+import at.spengergasse.todo.exceptions.ServiceException;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect
+{
+    private final Meter.MeterProvider<Timer> serviceTimer;
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry)
+    {
+        this.serviceTimer = Timer.builder("todo.service")
+                .description("Latency of service layer operations")
+                .publishPercentileHistogram()
+                .withRegistry(meterRegistry);
+    }
+
+
+    @Around("execution(public * at.spengergasse.todo.services.*Service.*(..))")
+    public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable
+    {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            Object result = joinPoint.proceed();
+            outcome = "success";
+            return result;
+        } catch (ServiceException ex) {
+            outcome = "not_found";
+            throw ex;
+        } finally {
+            serviceTimer.withTags(
+                            "class", joinPoint.getSignature().getDeclaringType().getSimpleName(),
+                            "method", joinPoint.getSignature().getName(),
+                            "outcome", outcome)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -1,24 +1,66 @@
 package at.spengergasse.todo.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.Column;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 import lombok.Getter;
 import lombok.ToString;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.util.Objects;
 
+// ID Generation & JDBC Batching
+// ---------------------------------
+// IDENTITY: id is assigned by the INSERT itself
+//   -> Hibernate must execute every INSERT immediately to learn the id
+//   -> JDBC insert batching is silently disabled
+//
+// SEQUENCE (pooled): Hibernate fetches one sequence value per 50 ids
+//   -> ids are known before the INSERT
+//   -> INSERTs are collected and sent as one JDBC batch on flush
+//   -> allocationSize should match hibernate.jdbc.batch_size
+
+
+// Optimistic Locking (@Version)
+// ---------------------------------
+// Hibernate increments version on every UPDATE:
+//   UPDATE todo SET title = ?, version = 4 WHERE id = ? AND version = 3
+// - concurrent updates of a stale copy fail (OptimisticLockException)
+// - version identifies the state of a row -> used as HTTP ETag (TodoController)
+
+
+// Change Tracking (updatedAt)
+// ---------------------------------
+// Set by Hibernate on every INSERT and UPDATE (JVM clock, @UpdateTimestamp)
+// Bulk JPQL updates bypass the entity and must set it themselves (TodoRepository)
+// Drives delta sync: GET /api/todos/changes?since= (TodoChangeService)
+
 @MappedSuperclass
 @ToString
 @Getter
 public class BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    // @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    // @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "entity_seq")
+    @SequenceGenerator(name = "entity_seq", sequenceName = "entity_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    private Long version;
+
+    // Sync metadata, clients only see it as part of the opaque changes cursor
+    @JsonIgnore
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
 
     @Override
     public boolean equals(Object o)
@@ -41,6 +83,8 @@ public class BaseEntity {
     }
 
     // Never seen the Database
+    // Not part of the JSON representation (same properties as TodoView)
+    @JsonIgnore
     public boolean isTransient() {
         return id == null;
     }
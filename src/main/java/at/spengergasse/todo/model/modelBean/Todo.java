@@ -14,18 +14,41 @@ package at.spengergasse.todo.model.modelBean;
 // - DTO/Request validation
 
 
+// Checklist Items (one todo -> many TodoItems)
+// ---------------------------------
+// Inverse side (mappedBy): the foreign key lives in todo_item, TodoItem owns the association
+// LAZY (default for collections): items are only read when a caller asks for them
+//
+// N+1 problem: reading items per todo = 1 query for the todos + N queries for the items
+//   @EntityGraph("items")  -> one todo WITH its items in ONE query (LEFT JOIN)
+//   @BatchSize(50)         -> touching the items of one loaded todo initializes the items
+//                             of up to 50 loaded todos: WHERE todo_id IN (?, ?, ...)
+//   read model (pages)     -> items of a whole page in ONE query (TodoService)
+//
+// Not part of the entity JSON: serializing would initialize the collection
+
+
 import at.spengergasse.todo.model.BaseEntity;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+
+import java.util.ArrayList;
+import java.util.List;
 
 // JPA Annotations
 @Entity
-@Table(name = "todo")
+// (updated_at, id): GET /api/todos/changes is an index range scan in change order
+@Table(name = "todo", indexes = @Index(name = "idx_todo_updated_at_id", columnList = "updated_at, id"))
 
 // Lombok Annotations
 @Getter
@@ -40,6 +63,13 @@ public class Todo extends BaseEntity {
     @Size(max = 100, message = "title must not exceed 100 characters")
     private String title;
 
+    @OneToMany(mappedBy = "todo")
+    @OrderBy("id ASC")
+    @BatchSize(size = 50)
+    @JsonIgnore
+    @ToString.Exclude // <- would initialize the lazy collection
+    private List<TodoItem> items = new ArrayList<>();
+
 
     // --- Constructors ---
 
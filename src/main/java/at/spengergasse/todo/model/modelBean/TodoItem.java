@@ -1,15 +1,68 @@
 package at.spengergasse.todo.model.modelBean;
 
+// Checklist item of a Todo (many items -> one todo)
+// ---------------------------------
+// Owning side of the association: todo_item.todo_id references todo.id
+//
+// @ManyToOne(fetch = LAZY): loading an item never loads its todo (default would be EAGER)
+// @OnDelete(CASCADE): the foreign key is created with ON DELETE CASCADE
+//   -> DELETE FROM todo WHERE id = ? removes the items in the database,
+//      single-statement and bulk deletes stay ONE statement, no items are loaded
+
+
 import at.spengergasse.todo.model.BaseEntity;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
-@Table(name = "todo_item")
+// todo_id: items of a page are read with WHERE todo_id IN (...)
+@Table(name = "todo_item", indexes = @Index(name = "idx_todo_item_todo_id", columnList = "todo_id"))
 
 @Getter
 @ToString(callSuper = true)
 public class TodoItem extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "todo_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude // <- would initialize the lazy todo
+    private Todo todo;
+
+    @Column(name = "title", nullable = false, length = 100)
+    @NotBlank(message = "title must not be blank")
+    @Size(max = 100, message = "title must not exceed 100 characters")
+    private String title;
+
+    @Column(name = "done", nullable = false)
+    private boolean done;
+
+
+    // --- Constructors ---
+
+    // JPA requires no-arg constructor
+    protected TodoItem() {}
+
+    // Business Constructor
+    public TodoItem(Todo todo, String title) {
+        this.todo = todo;
+        this.title = title;
+    }
+
+
+    // --- Business Methods ---
+
+    public void markDone() {
+        this.done = true;
+    }
 }
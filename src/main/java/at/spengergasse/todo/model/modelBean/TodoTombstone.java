@@ -0,0 +1,50 @@
+package at.spengergasse.todo.model.modelBean;
+
+// Tombstone of a deleted Todo (delta sync)
+// ---------------------------------
+// A deleted row is gone from the todo table, so GET /api/todos/changes could not
+// report it -> every delete leaves a tombstone (todo id + time of the delete)
+//
+// Written by TodoChangeService before the deleting transaction commits
+// (same transaction: no delete without tombstone, no tombstone without delete)
+// Tombstones older than todo.changes.retention are compacted in the background
+//
+// Id = id of the deleted todo (ids come from a sequence and are never reused)
+// Persisted with EntityManager.persist() -> plain INSERT, no merge() SELECT for the assigned id
+
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+@Entity
+// (deleted_at, id): changes query and compaction are index range scans
+@Table(name = "todo_tombstone", indexes = @Index(name = "idx_todo_tombstone_deleted_at_id", columnList = "deleted_at, id"))
+
+@Getter
+@ToString
+public class TodoTombstone {
+
+    @Id
+    private Long id;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+
+    // --- Constructors ---
+
+    // JPA requires no-arg constructor
+    protected TodoTombstone() {}
+
+    public TodoTombstone(Long id, Instant deletedAt) {
+        this.id = id;
+        this.deletedAt = deletedAt;
+    }
+}
@@ -0,0 +1,34 @@
+package at.spengergasse.todo.persistence;
+
+// Checklist items (see TodoItem)
+// ---------------------------------
+// Items of MANY todos in ONE query: WHERE todo_id IN (...) on idx_todo_item_todo_id
+// i.todo.id reads the foreign key column, the todo itself is not joined
+
+
+import at.spengergasse.todo.model.modelBean.TodoItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TodoItemRepository extends JpaRepository<TodoItem, Long> {
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT new at.spengergasse.todo.persistence.TodoItemRow(i.todo.id, i.id, i.title, i.done)
+            FROM TodoItem i
+            WHERE i.todo.id IN :todoIds
+            ORDER BY i.todo.id ASC, i.id ASC""")
+    List<TodoItemRow> findRowsByTodoIdIn(@Param("todoIds") Collection<Long> todoIds);
+}
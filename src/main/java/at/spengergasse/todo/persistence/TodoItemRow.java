@@ -0,0 +1,11 @@
+package at.spengergasse.todo.persistence;
+
+// Projection: one checklist item together with the id of its todo
+// Items of a whole page are read in one query and grouped by todoId
+
+public record TodoItemRow(
+        Long todoId,
+        Long id,
+        String title,
+        boolean done
+) { }
@@ -51,16 +51,157 @@ package at.spengergasse.todo.persistence;
 // Enables exception translation (SQLException → DataAccessException)
 
 
+// Keyset Pagination (Seek Method)
+// ---------------------------------
+// findAll() loads the WHOLE table into memory -> not an option for large tables
+// Instead: remember the last id of a page and seek past it
+//
+//   SELECT * FROM todo WHERE id > :afterId ORDER BY id FETCH FIRST :limit ROWS ONLY
+//
+// Uses the primary key index (range scan), cost per page stays constant
+// no matter how deep the client pages (unlike OFFSET)
+
+
+// Streaming Queries (Server-Side Cursor)
+// ---------------------------------
+// Stream<Todo> instead of List<Todo>: rows are read from the open ResultSet one by one
+//   - fetchSize: rows per network round trip (driver does not buffer the whole result)
+//   - readOnly:  no dirty-checking snapshots
+//   - must be consumed inside a transaction and closed (try-with-resources)
+//   - PostgreSQL only uses a cursor when autocommit is off (= inside a transaction)
+
+
+// Read Projections (TodoView)
+// ---------------------------------
+// SELECT new TodoView(t.id, t.title, t.version): Hibernate builds the record from the row
+//   - no entity instance, no snapshot for dirty checking, no persistence context entry
+//   - only the selected columns are read
+// readOnly hint:  guarantees no snapshots even if the query is changed to return entities
+// fetchSize hint: one round trip for a full page (max page size = 500)
+
+
+// Changes Since (delta sync)
+// ---------------------------------
+// Rows in change order, after the cursor position (updated_at, id):
+//
+//   WHERE (updated_at, id) > (?, ?) AND updated_at <= ? ORDER BY updated_at, id
+//
+// Row-value comparison on the (updated_at, id) index -> range scan, ties on updated_at
+// are broken by id so no row is skipped or repeated between pages
+
+
 import at.spengergasse.todo.model.modelBean.Todo;
+import at.spengergasse.todo.viewmodel.TodoView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface TodoRepository extends JpaRepository<Todo, Long> {
-    // No methods needed!
     // JpaRepository provides all basic CRUD operations
 
     // Custom queries can be added here if needed:
     // List<Todo> findByTitle(String title);
     // List<Todo> findByTitleContaining(String keyword);
+
+    // Keyset page: WHERE id > ? ORDER BY id ASC LIMIT ?
+    List<Todo> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    // Read path: one keyset page as TodoView projections
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT new at.spengergasse.todo.viewmodel.TodoView(t.id, t.title, t.version)
+            FROM Todo t
+            WHERE t.id > :afterId
+            ORDER BY t.id ASC""")
+    List<TodoView> findViewsByIdGreaterThan(@Param("afterId") Long afterId, Limit limit);
+
+    // Read path: one todo as TodoView projection
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            SELECT new at.spengergasse.todo.viewmodel.TodoView(t.id, t.title, t.version)
+            FROM Todo t
+            WHERE t.id = :id""")
+    Optional<TodoView> findViewById(@Param("id") Long id);
+
+    // One todo WITH its items: ONE query (todo LEFT JOIN todo_item), no lazy load afterwards
+    @EntityGraph(attributePaths = "items")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT t FROM Todo t WHERE t.id = :id")
+    Optional<Todo> findWithItemsById(@Param("id") Long id);
+
+    // ETag checks: read the version column only, no entity is loaded
+    @Query("SELECT t.version FROM Todo t WHERE t.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // ETag checks for a keyset page: (id, version) pairs instead of full entities
+    @Query("""
+            SELECT new at.spengergasse.todo.persistence.TodoVersion(t.id, t.version)
+            FROM Todo t
+            WHERE t.id > :afterId
+            ORDER BY t.id ASC""")
+    List<TodoVersion> findVersionsByIdGreaterThan(@Param("afterId") Long afterId, Limit limit);
+
+    // Changes since: rows changed after the cursor position, up to (and including) :until
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT new at.spengergasse.todo.persistence.TodoRevision(t.id, t.title, t.version, t.updatedAt)
+            FROM Todo t
+            WHERE (t.updatedAt, t.id) > (:since, :afterId)
+              AND t.updatedAt <= :until
+            ORDER BY t.updatedAt ASC, t.id ASC""")
+    List<TodoRevision> findChangedAfter(@Param("since") Instant since,
+                                        @Param("afterId") Long afterId,
+                                        @Param("until") Instant until,
+                                        Limit limit);
+
+    // Full export: server-side cursor, 500 rows per fetch
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Todo t ORDER BY t.id ASC")
+    Stream<Todo> streamAllOrderById();
+
+    // Which of these ids exist? (index-only, no entities)
+    @Query("SELECT t.id FROM Todo t WHERE t.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Single-statement update: no SELECT before the UPDATE, version incremented in SQL
+    // updatedAt is set explicitly (@UpdateTimestamp only applies to entity updates)
+    // Returns the number of updated rows (0 = id does not exist)
+    @Modifying
+    @Query("UPDATE Todo t SET t.title = :title, t.version = t.version + 1, t.updatedAt = :now WHERE t.id = :id")
+    int updateTitleById(@Param("id") Long id, @Param("title") String title, @Param("now") Instant now);
+
+    // Single-statement delete: no existsById(), no findById() before the DELETE
+    // Returns the number of deleted rows (0 = id does not exist)
+    @Modifying
+    @Query("DELETE FROM Todo t WHERE t.id = :id")
+    int deleteTodoById(@Param("id") Long id);
+
+    // Bulk delete: ONE statement for many ids (no SELECT, no entity loading)
+    // Returns the number of deleted rows
+    @Modifying
+    @Query("DELETE FROM Todo t WHERE t.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,13 @@
+package at.spengergasse.todo.persistence;
+
+// Projection: a todo together with the time of its last change
+// Used by the changes query (GET /api/todos/changes), updatedAt is the keyset position
+
+import java.time.Instant;
+
+public record TodoRevision(
+        Long id,
+        String title,
+        Long version,
+        Instant updatedAt
+) { }
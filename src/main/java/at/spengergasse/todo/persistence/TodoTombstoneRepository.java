@@ -0,0 +1,44 @@
+package at.spengergasse.todo.persistence;
+
+// Tombstones of deleted todos (see TodoTombstone)
+// ---------------------------------
+// Same keyset as the todo changes query: (deleted_at, id) > (:since, :afterId)
+// Row-value comparison -> one range scan on idx_todo_tombstone_deleted_at_id
+
+
+import at.spengergasse.todo.model.modelBean.TodoTombstone;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TodoTombstoneRepository extends JpaRepository<TodoTombstone, Long> {
+
+    // Deletes after the cursor position, up to (and including) :until, in change order
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            SELECT t FROM TodoTombstone t
+            WHERE (t.deletedAt, t.id) > (:since, :afterId)
+              AND t.deletedAt <= :until
+            ORDER BY t.deletedAt ASC, t.id ASC""")
+    List<TodoTombstone> findDeletedAfter(@Param("since") Instant since,
+                                         @Param("afterId") Long afterId,
+                                         @Param("until") Instant until,
+                                         Limit limit);
+
+    // Compaction: ONE statement, returns the number of removed tombstones
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TodoTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") Instant cutoff);
+}
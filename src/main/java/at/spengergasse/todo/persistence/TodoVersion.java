@@ -0,0 +1,9 @@
+package at.spengergasse.todo.persistence;
+
+// Projection: only id and version of a todo (no entity, no title)
+// Used for cheap ETag checks (SELECT t.id, t.version ...)
+
+public record TodoVersion(
+        Long id,
+        Long version
+) { }
@@ -0,0 +1,43 @@
+package at.spengergasse.todo.reactive;
+
+// Reactive Repository (Spring Data R2DBC)
+// ---------------------------------
+// Same queries as TodoRepository, but non-blocking:
+//   Mono<T> -> 0..1 results, Flux<T> -> 0..n results
+// Nothing is executed until someone subscribes (WebFlux subscribes when writing the response)
+//
+// Plain SQL instead of JPQL, results are mapped to records by column name
+
+
+import at.spengergasse.todo.viewmodel.TodoView;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveTodoRepository extends R2dbcRepository<TodoRow, Long> {
+
+    // Keyset page: WHERE id > ? ORDER BY id LIMIT ?
+    @Query("SELECT id, title, version FROM todo WHERE id > :afterId ORDER BY id ASC LIMIT :limit")
+    Flux<TodoView> findViewsByIdGreaterThan(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    @Query("SELECT id, title, version FROM todo WHERE id = :id")
+    Mono<TodoView> findViewById(@Param("id") Long id);
+
+    // ETag checks: version column only
+    @Query("SELECT version FROM todo WHERE id = :id")
+    Mono<Long> findVersionById(@Param("id") Long id);
+
+    // Single-statement writes, affected-row count 0 = id does not exist
+    @Modifying
+    @Query("UPDATE todo SET title = :title, version = version + 1 WHERE id = :id")
+    Mono<Integer> updateTitleById(@Param("id") Long id, @Param("title") String title);
+
+    @Modifying
+    @Query("DELETE FROM todo WHERE id = :id")
+    Mono<Integer> deleteTodoById(@Param("id") Long id);
+}
@@ -0,0 +1,150 @@
+package at.spengergasse.todo.reactive;
+
+import at.spengergasse.todo.config.PaginationProperties;
+import at.spengergasse.todo.config.WriteProperties;
+import at.spengergasse.todo.exceptions.ServiceException;
+import at.spengergasse.todo.model.modelBean.Todo;
+import at.spengergasse.todo.viewmodel.TodoCursor;
+import at.spengergasse.todo.viewmodel.TodoPage;
+import at.spengergasse.todo.viewmodel.TodoRequest;
+import at.spengergasse.todo.viewmodel.TodoView;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+// Reactive Service Layer (reactive profile)
+// ---------------------------------
+// Mirrors TodoService method by method, same business rules and exceptions:
+//   - unknown id            -> ServiceException.ofNotFound (404)
+//   - invalid title         -> ConstraintViolationException (400)
+//   - invalid cursor        -> IllegalArgumentException (400)
+// Errors are signalled through the Mono (Mono.error), never thrown on the event loop
+//
+// @Transactional on Mono methods -> R2dbcTransactionManager (reactive transaction,
+// bound to the subscription instead of the thread)
+//
+// Not mirrored: second-level caching, domain events (no listeners on this stack)
+
+
+// Write Path
+// ---------------------------------
+// todo.write.single-statement applies here as well:
+//   true  -> UPDATE/DELETE ... WHERE id = ?, affected-row count decides 404
+//            (updateTodo completes empty -> 204 No Content)
+//   false -> load row, save changed row (version check by Spring Data)
+
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ReactiveTodoService
+{
+    private static final Logger log = LoggerFactory.getLogger(ReactiveTodoService.class);
+
+    private final ReactiveTodoRepository todoRepository;
+    private final PaginationProperties pagination;
+    private final WriteProperties writeProperties;
+    private final Validator validator;
+
+
+    public Mono<TodoPage<TodoView>> getAllTodos(String cursor, Integer size) // <- READ ONLY
+    {
+        return Mono.defer(() -> {
+            Long afterId = (cursor == null) ? 0L : TodoCursor.decode(cursor);
+            int pageSize = pagination.resolve(size);
+
+            // One extra row -> is there a next page?
+            return todoRepository.findViewsByIdGreaterThan(afterId, pageSize + 1)
+                    .collectList()
+                    .map(rows -> {
+                        boolean hasNext = rows.size() > pageSize;
+                        List<TodoView> items = hasNext ? List.copyOf(rows.subList(0, pageSize)) : rows;
+                        String nextCursor = hasNext ? TodoCursor.encode(items.getLast().id()) : null;
+                        return new TodoPage<>(items, nextCursor);
+                    });
+        });
+    }
+
+
+    // Version of one todo -> ETag without loading the row
+    public Mono<Long> getTodoVersion(Long id) // <- READ ONLY
+    {
+        return todoRepository.findVersionById(id)
+                .switchIfEmpty(notFound(id));
+    }
+
+
+    public Mono<TodoView> getOneTodo(Long id) // <- READ ONLY
+    {
+        return todoRepository.findViewById(id)
+                .switchIfEmpty(notFound(id));
+    }
+
+
+    @Transactional  // <- WRITE OPERATION, overrides class-level
+    public Mono<TodoView> createTodo(TodoRequest todoRequest)
+    {
+        return validTitle(todoRequest.title())
+                .flatMap(title -> todoRepository.save(TodoRow.of(title)))
+                .map(TodoRow::toView)
+                .doOnNext(saved -> log.info("Created todo with id: {}", saved.id()));
+    }
+
+
+    // Completes with the updated todo (load + save path)
+    // or empty (single-statement path, the row is not read again)
+    @Transactional
+    public Mono<TodoView> updateTodo(Long id, TodoRequest todoRequest)
+    {
+        if (writeProperties.singleStatement()) {
+            return validTitle(todoRequest.title())
+                    .flatMap(title -> todoRepository.updateTitleById(id, title))
+                    .flatMap(updated -> updated == 0 ? notFound(id) : Mono.<TodoView>empty())
+                    .doOnSuccess(ignored -> log.info("Updated todo with id: {}", id));
+        }
+
+        return validTitle(todoRequest.title())
+                .flatMap(title -> todoRepository.findById(id)
+                        .switchIfEmpty(notFound(id))
+                        .flatMap(row -> todoRepository.save(row.withTitle(title))))
+                .map(TodoRow::toView)
+                .doOnNext(updated -> log.info("Updated todo with id: {}", id));
+    }
+
+
+    @Transactional
+    public Mono<Void> deleteTodo(Long id)
+    {
+        return todoRepository.deleteTodoById(id)
+                .flatMap(deleted -> deleted == 0 ? notFound(id) : Mono.<Void>empty())
+                .doOnSuccess(ignored -> log.info("Deleted todo with id: {}", id));
+    }
+
+
+    // Same constraints as the Todo entity (@NotBlank, @Size)
+    private Mono<String> validTitle(String title)
+    {
+        Set<ConstraintViolation<Todo>> violations = validator.validateValue(Todo.class, "title", title);
+        return violations.isEmpty()
+                ? Mono.just(title)
+                : Mono.error(new ConstraintViolationException(violations));
+    }
+
+    private static <T> Mono<T> notFound(Long id)
+    {
+        return Mono.defer(() -> {
+            log.warn("Todo not found with id: {}", id);
+            return Mono.error(ServiceException.ofNotFound(id));
+        });
+    }
+}
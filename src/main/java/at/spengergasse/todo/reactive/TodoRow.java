@@ -0,0 +1,33 @@
+package at.spengergasse.todo.reactive;
+
+// R2DBC Mapping of the todo table (reactive profile)
+// ---------------------------------
+// Spring Data R2DBC is no ORM: no lazy loading, no dirty checking, no persistence context
+// Immutable record: id and version are set through the constructor after INSERT/UPDATE
+//   - id null      -> INSERT (id generated by the database)
+//   - @Version     -> UPDATE ... WHERE id = ? AND version = ? (optimistic locking like JPA)
+
+
+import at.spengergasse.todo.viewmodel.TodoView;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("todo")
+public record TodoRow(
+        @Id Long id,
+        String title,
+        @Version Long version
+) {
+    public static TodoRow of(String title) {
+        return new TodoRow(null, title, null);
+    }
+
+    public TodoRow withTitle(String title) {
+        return new TodoRow(id, title, version);
+    }
+
+    public TodoView toView() {
+        return new TodoView(id, title, version);
+    }
+}
@@ -0,0 +1,61 @@
+package at.spengergasse.todo.routing;
+
+// Read/Write Routing (replica profile)
+// ---------------------------------
+// Services already declare what a transaction does:
+//   @Transactional(readOnly = true)  -> REPLICA  (reads scale with the number of replicas)
+//   @Transactional                   -> PRIMARY  (every write, and reads inside writes)
+//
+// The route is decided per connection, when the first statement needs one
+// (LazyConnectionDataSourceProxy in front, see ReplicaDataSourceConfig):
+// at transaction begin the read-only flag is not visible yet
+//
+// Read-only transactions still go to the PRIMARY when
+//   - the thread is pinned (read-your-writes after a write, see ReadYourWrites)
+//   - the replica lags more than todo.replica.max-lag, or its lag is unknown
+//
+// The route of the thread's last connection is remembered (lastReadFromReplica()):
+// TodoService.getOneTodo must not cache a replica row, the entry would outlive the lag by far
+
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Route> LAST_ROUTE = new ThreadLocal<>();
+
+    private final Duration maxLag;
+    private final Supplier<Duration> replicaLag;
+
+    // replicaLag: current lag of the replica, null = unknown (not replicated yet)
+    public ReadWriteRoutingDataSource(Duration maxLag, Supplier<Duration> replicaLag) {
+        this.maxLag = maxLag;
+        this.replicaLag = replicaLag;
+    }
+
+    // false without the replica profile: nothing is routed, everything comes from the primary
+    public static boolean lastReadFromReplica() {
+        return LAST_ROUTE.get() == Route.REPLICA;
+    }
+
+    @Override
+    protected Route determineCurrentLookupKey() {
+        Route route = route();
+        LAST_ROUTE.set(route);
+        return route;
+    }
+
+    private Route route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || ReadYourWrites.isPinned())
+            return Route.PRIMARY;
+
+        Duration lag = replicaLag.get();
+        return (lag == null || lag.compareTo(maxLag) > 0) ? Route.PRIMARY : Route.REPLICA;
+    }
+}
@@ -0,0 +1,48 @@
+package at.spengergasse.todo.routing;
+
+// Read-Your-Writes Pinning
+// ---------------------------------
+// A client that just wrote expects to read its write back,
+// a lagging replica would answer with the old state
+// Pinned thread -> read-only transactions use the primary as well
+//
+// Set per request by ReadYourWritesFilter, always cleared when the request ends
+//
+// ThreadLocal -> work the request hands to another thread does not see the pin
+// propagate() carries it over (TaskDecorator of Boot's applicationTaskExecutor, see ReplicaDataSourceConfig):
+//   StreamingResponseBody (GET /api/todos/export), Callable, WebAsyncTask, @Async
+// Threads outside that executor (group commit flusher, CompletableFuture callbacks) stay unpinned
+
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PINNED = ThreadLocal.withInitial(() -> false);
+
+    private ReadYourWrites() {}
+
+    public static void pin() {
+        PINNED.set(true);
+    }
+
+    public static void clear() {
+        PINNED.remove();
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get();
+    }
+
+    // Pin of the submitting thread, applied while the task runs on its worker thread
+    public static Runnable propagate(Runnable task) {
+        if (!isPinned())
+            return task;
+
+        return () -> {
+            pin();
+            try {
+                task.run();
+            } finally {
+                clear();
+            }
+        };
+    }
+}
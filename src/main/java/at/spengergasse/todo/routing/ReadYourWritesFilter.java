@@ -0,0 +1,86 @@
+package at.spengergasse.todo.routing;
+
+// Read-Your-Writes Stickiness (todo.replica.stickiness)
+// ---------------------------------
+// Writes (POST, PUT, PATCH, DELETE) set a cookie with the time of the write:
+//   Set-Cookie: todo-last-write=1760688000123; Max-Age=2; Path=/; HttpOnly
+// Requests of the same client within the stickiness window are pinned to the primary
+// (ReadYourWrites), later requests read from the replica again
+//
+// The write request itself is pinned too (reads after the write in the same request)
+// Other clients are not affected, they may read from the lagging replica
+// Async work of a pinned request (e.g. the export stream) keeps the pin, see ReadYourWrites.propagate
+
+
+import at.spengergasse.todo.config.ReplicaProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+@Component
+@Profile("replica")
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "todo-last-write";
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final ReplicaProperties properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long stickinessMillis = properties.stickiness().toMillis();
+        long now = System.currentTimeMillis();
+
+        if (stickinessMillis > 0) {
+            if (WRITE_METHODS.contains(request.getMethod())) {
+                response.addCookie(lastWriteCookie(now, stickinessMillis));
+                ReadYourWrites.pin();
+            } else if (now - lastWrite(request) < stickinessMillis) {
+                ReadYourWrites.pin();
+            }
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.clear();
+        }
+    }
+
+    private static Cookie lastWriteCookie(long now, long stickinessMillis) {
+        Cookie cookie = new Cookie(COOKIE, Long.toString(now));
+        cookie.setMaxAge((int) Math.ceilDiv(stickinessMillis, 1000));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        return cookie;
+    }
+
+    // Time of the client's last write, 0 = none (or unreadable)
+    private static long lastWrite(HttpServletRequest request) {
+        if (request.getCookies() == null)
+            return 0;
+
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
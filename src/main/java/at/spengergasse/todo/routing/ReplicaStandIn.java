@@ -0,0 +1,197 @@
+package at.spengergasse.todo.routing;
+
+// Replication Stand-In (replica profile, local H2 only)
+// ---------------------------------
+// Real replicas are fed by the database (PostgreSQL streaming replication, MySQL binlog, ...)
+// Two in-memory H2 databases have no replication -> this class plays the replication:
+//
+//   start:               schema of the primary (SCRIPT NODATA) is created on the replica
+//   every interval:      snapshot of todo.replica.stand-in.tables on the primary (one transaction)
+//   simulated-lag later: the replica is replaced with that snapshot (one transaction)
+//
+// Readers of the replica see the old or the new snapshot, never a half-applied one
+// The replica is always (interval + simulated-lag) behind, like a lagging real replica
+//
+// lag() = age of the last applied snapshot -> ReadWriteRoutingDataSource falls back to the
+// primary when it exceeds todo.replica.max-lag (null until the first snapshot was applied)
+//
+// Full copies: fine for local testing, NOT a replication strategy for real data volumes
+
+
+import at.spengergasse.todo.config.ReplicaProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class ReplicaStandIn implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaStandIn.class);
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaProperties.StandIn properties;
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean running;
+    private volatile Instant appliedSnapshotAt;
+
+    private record Table(String name, List<String> columns, List<Object[]> rows) { }
+    private record Snapshot(Instant takenAt, List<Table> tables) { }
+
+    public ReplicaStandIn(DataSource primary, DataSource replica, ReplicaProperties.StandIn properties) {
+        this.primary = primary;
+        this.replica = replica;
+        this.properties = properties;
+    }
+
+
+    // Time since the state the replica shows was current on the primary, null = nothing replicated yet
+    public Duration lag() {
+        Instant appliedAt = appliedSnapshotAt;
+        return (appliedAt == null) ? null : Duration.between(appliedAt, Instant.now());
+    }
+
+
+    // --- Lifecycle: after the context (and Hibernate's schema) is ready, stopped before it closes ---
+
+    @Override
+    public void start() {
+        try {
+            copySchema();
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Cannot create the replica schema", ex);
+        }
+
+        // One thread: snapshots and their delayed applies run in the order they were taken
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("replica-stand-in").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::replicate,
+                0, properties.interval().toMillis(), TimeUnit.MILLISECONDS);
+
+        running = true;
+        log.info("Replication stand-in started (interval: {}, simulated lag: {})",
+                properties.interval(), properties.simulatedLag());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+
+    private void copySchema() throws SQLException {
+        try (Connection source = primary.getConnection();
+             Statement script = source.createStatement();
+             ResultSet ddl = script.executeQuery("SCRIPT NODATA");
+             Connection target = replica.getConnection();
+             Statement statement = target.createStatement()) {
+            while (ddl.next())
+                statement.execute(ddl.getString(1));
+        }
+    }
+
+    // Exceptions must not escape: they would cancel the periodic task for good
+    private void replicate() {
+        try {
+            Snapshot snapshot = snapshot();
+            scheduler.schedule(() -> apply(snapshot), properties.simulatedLag().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (SQLException | RuntimeException ex) {
+            log.warn("Replica snapshot failed: {}", ex.getMessage());
+        }
+    }
+
+    private Snapshot snapshot() throws SQLException {
+        try (Connection connection = primary.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ); // <- consistent across tables
+            Instant takenAt = Instant.now();
+
+            List<Table> tables = new ArrayList<>(properties.tables().size());
+            for (String table : properties.tables())
+                tables.add(read(connection, table));
+
+            connection.commit();
+            return new Snapshot(takenAt, tables);
+        }
+    }
+
+    private static Table read(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT * FROM " + table)) {
+            ResultSetMetaData metaData = rows.getMetaData();
+            List<String> columns = new ArrayList<>(metaData.getColumnCount());
+            for (int i = 1; i <= metaData.getColumnCount(); i++)
+                columns.add(metaData.getColumnName(i));
+
+            List<Object[]> values = new ArrayList<>();
+            while (rows.next()) {
+                Object[] row = new Object[columns.size()];
+                for (int i = 0; i < row.length; i++)
+                    row[i] = rows.getObject(i + 1);
+                values.add(row);
+            }
+            return new Table(table, columns, values);
+        }
+    }
+
+    private void apply(Snapshot snapshot) {
+        try (Connection connection = replica.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                // Children first, foreign keys
+                try (Statement statement = connection.createStatement()) {
+                    for (Table table : snapshot.tables().reversed())
+                        statement.executeUpdate("DELETE FROM " + table.name());
+                }
+                for (Table table : snapshot.tables())
+                    insert(connection, table);
+
+                connection.commit();
+            } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            }
+            appliedSnapshotAt = snapshot.takenAt();
+        } catch (SQLException | RuntimeException ex) {
+            log.warn("Replica apply failed: {}", ex.getMessage());
+        }
+    }
+
+    private static void insert(Connection connection, Table table) throws SQLException {
+        if (table.rows().isEmpty())
+            return;
+
+        String sql = "INSERT INTO " + table.name() + " (" + String.join(", ", table.columns()) + ") VALUES ("
+                + String.join(", ", table.columns().stream().map(column -> "?").toList()) + ")";
+
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (Object[] row : table.rows()) {
+                for (int i = 0; i < row.length; i++)
+                    statement.setObject(i + 1, row[i]);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+}
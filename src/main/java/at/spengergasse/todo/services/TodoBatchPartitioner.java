@@ -0,0 +1,26 @@
+package at.spengergasse.todo.services;
+
+// Batch Partitioning (see TodoBatchService)
+// ---------------------------------
+// Splits one chunk into the groups that can share a transaction
+// Default (no bean): the whole chunk is one group
+// sharding profile: one group per shard (ShardBatchPartitioner), a transaction uses one connection
+
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+public interface TodoBatchPartitioner
+{
+    TodoBatchPartitioner NONE = new TodoBatchPartitioner()
+    {
+        @Override
+        public <T> List<List<T>> partition(List<T> chunk, ToLongFunction<T> idOf)
+        {
+            return List.of(chunk);
+        }
+    };
+
+    // Keeps the order of the chunk inside every group
+    <T> List<List<T>> partition(List<T> chunk, ToLongFunction<T> idOf);
+}
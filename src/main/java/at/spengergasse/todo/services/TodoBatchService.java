@@ -0,0 +1,236 @@
+package at.spengergasse.todo.services;
+
+import at.spengergasse.todo.config.BatchProperties;
+import at.spengergasse.todo.config.CacheConfig;
+import at.spengergasse.todo.exceptions.ServiceException;
+import at.spengergasse.todo.model.modelBean.Todo;
+import at.spengergasse.todo.persistence.TodoRepository;
+import at.spengergasse.todo.viewmodel.TodoBatchDeleteResult;
+import at.spengergasse.todo.viewmodel.TodoBatchUpdate;
+import at.spengergasse.todo.viewmodel.TodoRequest;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+// Batch Service (Bulk Write Operations)
+// ---------------------------------
+// Many operations per HTTP call instead of one call per todo
+// Operations are split into chunks (todo.batch.chunk-size)
+// Every chunk runs in its OWN transaction
+//   - bounded transaction size (memory, locks, undo log)
+//   - chunks that already committed stay committed if a later chunk fails
+//   - updates: all ids are checked BEFORE the first chunk (one SELECT per chunk, only when there
+//     is more than one): an unknown id answers 404 with nothing applied, not after a partial update
+//   - the persistence context is cleared after every chunk: with open-in-view all chunk
+//     transactions share the request's EntityManager, written todos would stay managed
+//
+// Updates/deletes: a chunk is split once more by TodoBatchPartitioner, one transaction per group
+// (sharding profile: one group per shard, otherwise the whole chunk is one group)
+
+
+// Programmatic Transactions (TransactionTemplate)
+// ---------------------------------
+// @Transactional only works when the method is called through the Spring proxy
+// Calling a @Transactional method of the same class (this.saveChunk()) bypasses the proxy!
+// TransactionTemplate: one transaction per execute() call, no proxy needed
+
+
+// JDBC Batching
+// ---------------------------------
+// Inside a chunk Hibernate does NOT send one statement per entity
+// It collects the INSERTs / UPDATEs and sends them as JDBC batches on flush
+//   hibernate.jdbc.batch_size  -> statements per batch
+//   hibernate.order_inserts    -> group INSERTs by table (bigger batches)
+//   hibernate.order_updates    -> group UPDATEs by table (bigger batches)
+// Requires SEQUENCE ids (see BaseEntity), IDENTITY disables insert batching
+
+
+// Domain Events
+// ---------------------------------
+// One TodoEvent per affected todo, published inside the chunk transaction
+// (delivered to listeners when that chunk commits)
+
+
+// Cache Invalidation
+// ---------------------------------
+// Per committed chunk, not per call: @CacheEvict on the method would only run on a normal return,
+// chunks that committed before a failing chunk would stay cached with their old rows
+// -> after-commit listener on the TodoEvents of the chunk, evicts exactly the touched ids
+// (also sees single writes, their @CacheEvict already removed the entry: a no-op then)
+
+@Service
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class TodoBatchService
+{
+    private static final Logger log = LoggerFactory.getLogger(TodoBatchService.class);
+
+    private final TodoRepository todoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final BatchProperties batch;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<TodoBatchPartitioner> partitioner;
+    private final CacheManager cacheManager;
+    private final EntityManager entityManager;
+
+
+    public List<Todo> createTodos(List<TodoRequest> todoRequests)
+    {
+        log.debug("Creating {} todos in chunks of {}", todoRequests.size(), batch.chunkSize());
+        List<Todo> createdTodos = new ArrayList<>(todoRequests.size());
+
+        for (List<TodoRequest> chunk : chunks(todoRequests)) {
+            List<Todo> savedTodos = transactionTemplate.execute(status -> {
+                List<Todo> newTodos = chunk.stream()
+                        .map(todoRequest -> new Todo(todoRequest.title()))
+                        .toList();
+
+                // persist() only, the INSERT batch is sent on flush
+                List<Todo> saved = todoRepository.saveAll(newTodos);
+                saved.forEach(todo -> eventPublisher.publishEvent(TodoEvent.created(todo)));
+
+                entityManager.flush();
+                entityManager.clear(); // <- returned todos are detached, nothing is dirty-checked again
+                return saved;
+            });
+            createdTodos.addAll(savedTodos);
+        }
+
+        log.info("Created {} todos", createdTodos.size());
+        return createdTodos;
+    }
+
+
+    public List<Todo> updateTodos(List<TodoBatchUpdate> todoUpdates)
+    {
+        log.debug("Updating {} todos in chunks of {}", todoUpdates.size(), batch.chunkSize());
+        List<Todo> updatedTodos = new ArrayList<>(todoUpdates.size());
+        List<List<TodoBatchUpdate>> groups = groups(todoUpdates, TodoBatchUpdate::id);
+        if (groups.size() > 1)
+            requireExisting(groups); // <- a single group rolls back as a whole anyway
+
+        for (List<TodoBatchUpdate> group : groups) {
+            List<Todo> groupTodos = transactionTemplate.execute(status -> {
+                // ONE select for the whole group: WHERE id IN (...)
+                List<Long> ids = group.stream().map(TodoBatchUpdate::id).toList();
+                Map<Long, Todo> todosById = todoRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(Todo::getId, Function.identity()));
+
+                List<Todo> renamedTodos = new ArrayList<>(group.size());
+                for (TodoBatchUpdate todoUpdate : group) {
+                    Todo existingTodo = todosById.get(todoUpdate.id());
+                    if (existingTodo == null) {
+                        log.warn("Cannot update batch - todo not found with id: {}", todoUpdate.id());
+                        throw ServiceException.ofNotFound(todoUpdate.id()); // <- rolls back this group
+                    }
+
+                    // Dirty checking, UPDATEs are batched on commit
+                    existingTodo.renameTitle(todoUpdate.title());
+                    renamedTodos.add(existingTodo);
+                }
+
+                // Send the UPDATE batch now, events carry the incremented versions
+                todoRepository.flush();
+                renamedTodos.forEach(todo -> eventPublisher.publishEvent(TodoEvent.updated(todo)));
+
+                entityManager.clear();
+                return renamedTodos;
+            });
+            updatedTodos.addAll(groupTodos);
+        }
+
+        log.info("Updated {} todos", updatedTodos.size());
+        return updatedTodos;
+    }
+
+
+    public TodoBatchDeleteResult deleteTodos(List<Long> ids)
+    {
+        log.debug("Deleting {} todos in chunks of {}", ids.size(), batch.chunkSize());
+        int deleted = 0;
+
+        for (List<Long> group : groups(ids, Long::longValue)) {
+            deleted += transactionTemplate.execute(status -> {
+                // Two statements per group: SELECT id ... WHERE id IN (...), DELETE ... WHERE id IN (...)
+                // The SELECT tells us which ids really existed (events for those only)
+                List<Long> existingIds = todoRepository.findExistingIds(group);
+                if (existingIds.isEmpty())
+                    return 0;
+
+                int deletedRows = todoRepository.deleteAllByIdIn(existingIds);
+                existingIds.forEach(id -> eventPublisher.publishEvent(TodoEvent.deleted(id)));
+                return deletedRows;
+            });
+        }
+
+        log.info("Deleted {} of {} requested todos", deleted, ids.size());
+        return new TodoBatchDeleteResult(ids.size(), deleted);
+    }
+
+
+    // Unknown id in any group -> 404 before anything is written
+    // (a todo deleted between this check and its chunk still fails that chunk only)
+    private void requireExisting(List<List<TodoBatchUpdate>> groups)
+    {
+        for (List<TodoBatchUpdate> group : groups) {
+            List<Long> ids = group.stream().map(TodoBatchUpdate::id).toList();
+            Set<Long> existingIds = new HashSet<>(todoRepository.findExistingIds(ids));
+            for (Long id : ids)
+                if (!existingIds.contains(id)) {
+                    log.warn("Cannot update batch - todo not found with id: {}", id);
+                    throw ServiceException.ofNotFound(id);
+                }
+        }
+    }
+
+
+    // After the commit of each chunk: nobody can load the old row again
+    @TransactionalEventListener
+    void evictTodo(TodoEvent event)
+    {
+        Cache todoCache = cacheManager.getCache(CacheConfig.TODOS);
+        if (todoCache != null && event.type() != TodoEvent.Type.CREATED)
+            todoCache.evict(event.id());
+    }
+
+
+    // Chunks, each split into the groups that can share one transaction
+    private <T> List<List<T>> groups(List<T> items, ToLongFunction<T> idOf)
+    {
+        TodoBatchPartitioner chunkPartitioner = partitioner.getIfAvailable(() -> TodoBatchPartitioner.NONE);
+        List<List<T>> groups = new ArrayList<>();
+        for (List<T> chunk : chunks(items))
+            groups.addAll(chunkPartitioner.partition(chunk, idOf));
+        return groups;
+    }
+
+    // [a, b, c, d, e] with chunk-size 2 -> [[a, b], [c, d], [e]]
+    private <T> List<List<T>> chunks(List<T> items)
+    {
+        int chunkSize = Math.max(1, batch.chunkSize());
+        List<List<T>> chunks = new ArrayList<>((items.size() + chunkSize - 1) / chunkSize);
+
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            chunks.add(items.subList(from, Math.min(from + chunkSize, items.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,154 @@
+package at.spengergasse.todo.services;
+
+import at.spengergasse.todo.config.ChangesProperties;
+import at.spengergasse.todo.config.PaginationProperties;
+import at.spengergasse.todo.exceptions.CursorExpiredException;
+import at.spengergasse.todo.model.modelBean.TodoTombstone;
+import at.spengergasse.todo.persistence.TodoRepository;
+import at.spengergasse.todo.persistence.TodoRevision;
+import at.spengergasse.todo.persistence.TodoTombstoneRepository;
+import at.spengergasse.todo.viewmodel.TodoChange;
+import at.spengergasse.todo.viewmodel.TodoChangeCursor;
+import at.spengergasse.todo.viewmodel.TodoChangePage;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+// Delta Sync (GET /api/todos/changes?since=)
+// ---------------------------------
+// Clients keep a local copy and only fetch what changed since their last sync
+// instead of paging through the whole list again:
+//
+//   GET /api/todos/changes            -> everything (first sync), nextCursor
+//   GET /api/todos/changes?since=...  -> only todos changed/deleted after that cursor
+//
+// Sources (both read in change order, one range scan each, merged here):
+//   - todo           (updated_at, id)  -> UPSERT
+//   - todo_tombstone (deleted_at, id)  -> DELETED
+//
+// One page of changes = the first n entries of both lists merged (n+1 rows each -> hasMore)
+
+
+// Tombstones
+// ---------------------------------
+// Every DELETED event (single delete, entity path, batch delete) writes a tombstone
+// BEFORE the deleting transaction commits -> same transaction as the DELETE (TodoTombstoneRecorder)
+// Compaction: tombstones older than todo.changes.retention are removed periodically
+// A cursor older than the retention could miss compacted deletes -> 410 Gone
+
+
+// Visibility (todo.changes.settle)
+// ---------------------------------
+// updated_at is taken when the row is written, not when the transaction commits:
+//   tx A writes at 10:00:00.100, tx B writes at 10:00:00.200 and commits first
+//   a client syncing in between would get B, and its cursor would skip A for good
+// -> only changes older than now - settle are reported, the rest on the next sync
+
+@Service
+@Profile("!reactive")
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TodoChangeService
+{
+    private static final Logger log = LoggerFactory.getLogger(TodoChangeService.class);
+
+    private final TodoRepository todoRepository;
+    private final TodoTombstoneRepository tombstoneRepository;
+    private final PaginationProperties pagination;
+    private final ChangesProperties changes;
+
+    // A reported change and its position (for the next cursor)
+    private record Entry(TodoChangeCursor position, TodoChange change) { }
+
+
+    public TodoChangePage getChanges(String since, Integer size) // <- READ ONLY
+    {
+        log.debug("Retrieving changes since cursor: {} with size: {}", since, size);
+
+        TodoChangeCursor from = (since == null) ? TodoChangeCursor.START : TodoChangeCursor.decode(since);
+        Instant now = Instant.now();
+
+        if (since != null && from.changedAt().isBefore(now.minus(changes.retention()))) {
+            log.warn("Changes cursor expired: {} is older than retention {}", from.changedAt(), changes.retention());
+            throw new CursorExpiredException("cursor is older than " + changes.retention() + ", resync required");
+        }
+
+        Instant until = now.minus(changes.settle());
+        int pageSize = pagination.resolve(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<TodoRevision> upserts = todoRepository.findChangedAfter(from.changedAt(), from.id(), until, limit);
+        List<TodoTombstone> deletes = tombstoneRepository.findDeletedAfter(from.changedAt(), from.id(), until, limit);
+
+        List<Entry> entries = merge(upserts, deletes, pageSize + 1);
+        boolean hasMore = entries.size() > pageSize;
+        if (hasMore)
+            entries = entries.subList(0, pageSize);
+
+        // Complete up to "until" -> continue from there (keeps cursors of idle clients fresh)
+        TodoChangeCursor next;
+        if (hasMore)
+            next = entries.getLast().position();
+        else if (until.isAfter(from.changedAt()))
+            next = new TodoChangeCursor(until, Long.MAX_VALUE);
+        else
+            next = from;
+
+        log.info("Retrieved {} changes (hasMore: {})", entries.size(), hasMore);
+        return new TodoChangePage(entries.stream().map(Entry::change).toList(), next.encode(), hasMore);
+    }
+
+
+    // Background compaction, ONE delete statement on the (deleted_at, id) index
+    @Scheduled(initialDelayString = "${todo.changes.compaction-interval:1h}",
+               fixedDelayString = "${todo.changes.compaction-interval:1h}")
+    @Transactional // <- WRITE OPERATION, overrides class-level
+    void compactTombstones()
+    {
+        Instant cutoff = Instant.now().minus(changes.retention());
+        int removed = tombstoneRepository.deleteOlderThan(cutoff);
+
+        if (removed > 0)
+            log.info("Compacted {} tombstones deleted before {}", removed, cutoff);
+    }
+
+
+    // Two lists in (time, id) order -> one list in (time, id) order, at most max entries
+    private static List<Entry> merge(List<TodoRevision> upserts, List<TodoTombstone> deletes, int max)
+    {
+        List<Entry> entries = new ArrayList<>(Math.min(max, upserts.size() + deletes.size()));
+        int u = 0;
+        int d = 0;
+
+        while (entries.size() < max && (u < upserts.size() || d < deletes.size())) {
+            boolean takeUpsert = d >= deletes.size()
+                    || (u < upserts.size() && isBefore(upserts.get(u), deletes.get(d)));
+
+            if (takeUpsert) {
+                TodoRevision todo = upserts.get(u++);
+                entries.add(new Entry(new TodoChangeCursor(todo.updatedAt(), todo.id()),
+                        TodoChange.upsert(todo.id(), todo.title(), todo.version())));
+            } else {
+                TodoTombstone tombstone = deletes.get(d++);
+                entries.add(new Entry(new TodoChangeCursor(tombstone.getDeletedAt(), tombstone.getId()),
+                        TodoChange.deleted(tombstone.getId())));
+            }
+        }
+        return entries;
+    }
+
+    private static boolean isBefore(TodoRevision todo, TodoTombstone tombstone)
+    {
+        int byTime = todo.updatedAt().compareTo(tombstone.getDeletedAt());
+        return byTime < 0 || (byTime == 0 && todo.id() < tombstone.getId());
+    }
+}
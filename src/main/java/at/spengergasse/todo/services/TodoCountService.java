@@ -0,0 +1,176 @@
+package at.spengergasse.todo.services;
+
+import at.spengergasse.todo.persistence.TodoRepository;
+import at.spengergasse.todo.viewmodel.TodoCount;
+import at.spengergasse.todo.viewmodel.TodoStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Maintained Counters (GET /api/todos/count, GET /api/todos/stats)
+// ---------------------------------
+// SELECT COUNT(*) per request = index/table scan per request, cost grows with the table
+// Instead: counters in memory, adjusted by every committed write
+//   CREATED -> count + 1      DELETED -> count - 1
+// Reading a count = summing a few cells, no SQL at all
+//
+// LongAdder instead of AtomicLong: one cell per contending thread (striped),
+// concurrent commits do not fight over one cache line; sum() on read
+
+
+// Reconciliation (todo.count.reconcile-interval)
+// ---------------------------------
+// The counter can drift from the table:
+//   - writes of other instances (only local commits are seen)
+//   - writes that bypass the services (SQL console, migrations)
+// -> at startup and periodically: ONE SELECT COUNT(*), the counter is corrected
+// A commit around the COUNT(*) would be lost or counted twice by the correction:
+//   - the write counters moved meanwhile
+//   - a create/delete transaction has not completed yet (pendingCommits, from the event until
+//     afterCompletion): its row may already be in the COUNT(*) but not yet in the counter
+// -> the COUNT(*) is retried (RECONCILE_ATTEMPTS), every discarded one is counted in
+//    todo.count.reconcile.skipped; todo.count.reconcile.age shows how old the last correction is
+// The COUNT(*) runs in a read-WRITE transaction: read-only would go to a lagging replica
+// (replica profile) and "correct" the counter to an old state
+
+@Service
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class TodoCountService
+{
+    private static final Logger log = LoggerFactory.getLogger(TodoCountService.class);
+
+    private static final int RECONCILE_ATTEMPTS = 3;
+
+    private final TodoRepository todoRepository;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder updated = new LongAdder();
+    private final LongAdder deleted = new LongAdder();
+    private final AtomicInteger pendingCommits = new AtomicInteger();
+    private volatile Instant reconciledAt;
+    private Counter skippedReconciliations;
+
+
+    @PostConstruct
+    void registerMetrics()
+    {
+        Gauge.builder("todo.count", count, LongAdder::sum)
+                .description("Todos in the database (maintained counter)")
+                .register(meterRegistry);
+        Gauge.builder("todo.count.reconcile.age", this, TodoCountService::secondsSinceReconciled)
+                .description("Seconds since the counter was last corrected by a COUNT(*) (NaN: never)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        skippedReconciliations = Counter.builder("todo.count.reconcile.skipped")
+                .description("COUNT(*) results discarded because todos were written meanwhile")
+                .register(meterRegistry);
+    }
+
+
+    public TodoCount getCount()
+    {
+        return new TodoCount(count.sum());
+    }
+
+    public TodoStats getStats()
+    {
+        return new TodoStats(count.sum(), created.sum(), updated.sum(), deleted.sum(), reconciledAt);
+    }
+
+
+    // Published inside the writing transaction (no transaction -> ignored, like an after-commit listener)
+    // afterCommit:     on the committing thread, one add() per event
+    // afterCompletion: runs after ALL afterCommit callbacks -> the counter is up to date again
+    @EventListener
+    void onTodoEvent(TodoEvent event)
+    {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+            return;
+
+        boolean countChanges = event.type() != TodoEvent.Type.UPDATED;
+        if (countChanges)
+            pendingCommits.incrementAndGet();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization()
+        {
+            @Override
+            public void afterCommit()
+            {
+                switch (event.type()) {
+                    case CREATED -> { count.increment(); created.increment(); }
+                    case UPDATED -> updated.increment();
+                    case DELETED -> { count.decrement(); deleted.increment(); }
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status)
+            {
+                if (countChanges)
+                    pendingCommits.decrementAndGet();
+            }
+        });
+    }
+
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${todo.count.reconcile-interval:5m}",
+               fixedDelayString = "${todo.count.reconcile-interval:5m}")
+    public void reconcile()
+    {
+        for (int attempt = 1; attempt <= RECONCILE_ATTEMPTS; attempt++) {
+            if (tryReconcile())
+                return;
+            skippedReconciliations.increment();
+        }
+        log.warn("Skipped count reconciliation {} times, todos were written meanwhile", RECONCILE_ATTEMPTS);
+    }
+
+    private boolean tryReconcile()
+    {
+        long writesBefore = created.sum() + deleted.sum();
+        long counted = count.sum();
+        if (pendingCommits.get() != 0)
+            return false;
+
+        long actual = transactionTemplate.execute(status -> todoRepository.count()); // <- the only COUNT(*), primary
+
+        if (pendingCommits.get() != 0 || created.sum() + deleted.sum() != writesBefore)
+            return false;
+
+        long drift = actual - counted;
+        if (drift != 0) {
+            count.add(drift);
+            log.info("Reconciled todo count to {} (drift: {})", actual, drift);
+        }
+        reconciledAt = Instant.now();
+        return true;
+    }
+
+    private double secondsSinceReconciled()
+    {
+        Instant at = reconciledAt;
+        return (at == null) ? Double.NaN : Duration.between(at, Instant.now()).toMillis() / 1000.0;
+    }
+}
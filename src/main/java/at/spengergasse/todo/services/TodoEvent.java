@@ -0,0 +1,39 @@
+package at.spengergasse.todo.services;
+
+import at.spengergasse.todo.model.modelBean.Todo;
+
+// Domain Event: a todo was created, updated or deleted
+// ---------------------------------
+// Published by the write methods of the service layer (ApplicationEventPublisher)
+// Consumed with @TransactionalEventListener -> runs only AFTER the transaction COMMITTED
+//   - rolled back writes never reach listeners
+//   - listeners see the same order as the commits on this node
+//
+// Listeners keep derived state in sync (search index, ...)
+// title/version are null for DELETED
+// version is null for UPDATED on the single-statement path (entity not loaded)
+
+public record TodoEvent(
+        Type type,
+        Long id,
+        String title,
+        Long version
+) {
+    public enum Type { CREATED, UPDATED, DELETED }
+
+    public static TodoEvent created(Todo todo) {
+        return new TodoEvent(Type.CREATED, todo.getId(), todo.getTitle(), todo.getVersion());
+    }
+
+    public static TodoEvent updated(Todo todo) {
+        return new TodoEvent(Type.UPDATED, todo.getId(), todo.getTitle(), todo.getVersion());
+    }
+
+    public static TodoEvent updated(Long id, String title) {
+        return new TodoEvent(Type.UPDATED, id, title, null);
+    }
+
+    public static TodoEvent deleted(Long id) {
+        return new TodoEvent(Type.DELETED, id, null, null);
+    }
+}
@@ -0,0 +1,225 @@
+package at.spengergasse.todo.services;
+
+import at.spengergasse.todo.config.WriteProperties;
+import at.spengergasse.todo.model.modelBean.Todo;
+import at.spengergasse.todo.persistence.TodoRepository;
+import at.spengergasse.todo.viewmodel.TodoRequest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+// Group Commit (todo.write.group-commit.enabled=true)
+// ---------------------------------
+// One transaction per POST = one commit (and one log fsync) per todo
+// -> at high rates the database spends its time committing, not inserting
+//
+// Group commit: concurrent creates are queued and written together
+//   caller      -> validate -> enqueue -> CompletableFuture (request thread is released)
+//   flusher     -> takes up to max-batch-size creates, waits at most linger for more
+//               -> ONE transaction: batched INSERTs + ONE commit
+//               -> completes every future AFTER the commit (201 only for durable rows)
+//
+// Failure handling
+//   - invalid titles are rejected before enqueueing (one bad row never fails a batch)
+//   - a failed batch is retried one create at a time, so each caller gets its own result
+//   - queue full -> RejectedExecutionException -> 503 Service Unavailable (back pressure)
+//
+// Disabled (default): createTodo() delegates to TodoService.createTodo (one transaction per call)
+
+
+// Tuning
+// ---------------------------------
+// linger adds at most its own duration to the latency of a create
+// Batch sizes are exported as todo.group.commit.batch.size (/actuator/metrics):
+//   mostly 1     -> linger too short or too little traffic to batch
+//   mostly max   -> max-batch-size is the limit, raise it (or the queue fills up)
+//
+// ServiceMetricsAspect times createTodo() = validate + enqueue only
+// The commit itself is timed by the flusher, next to the other service timers:
+//   todo.service{class="TodoGroupCommitService", method="flush", outcome="success|error"}
+// error = the batch failed and was retried one by one (TodoService.createTodo timers)
+
+@Service
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class TodoGroupCommitService
+{
+    private static final Logger log = LoggerFactory.getLogger(TodoGroupCommitService.class);
+
+    private final TodoService todoService;
+    private final TodoRepository todoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WriteProperties writeProperties;
+    private final Validator validator;
+    private final MeterRegistry meterRegistry;
+
+    private BlockingQueue<PendingCreate> queue;
+    private DistributionSummary batchSizes;
+    private Meter.MeterProvider<Timer> flushTimer;
+    private Thread flusher;
+    private volatile boolean running;
+
+    private record PendingCreate(TodoRequest todoRequest, CompletableFuture<Todo> result) { }
+
+
+    @PostConstruct
+    void start()
+    {
+        WriteProperties.GroupCommit groupCommit = writeProperties.groupCommit();
+        if (!groupCommit.enabled())
+            return;
+
+        queue = new ArrayBlockingQueue<>(groupCommit.queueCapacity());
+        batchSizes = DistributionSummary.builder("todo.group.commit.batch.size")
+                .description("Creates written per group commit transaction")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("todo.service")
+                .description("Latency of service layer operations")
+                .publishPercentileHistogram()
+                .tags("class", TodoGroupCommitService.class.getSimpleName(), "method", "flush")
+                .withRegistry(meterRegistry);
+
+        running = true;
+        flusher = Thread.ofPlatform().name("todo-group-commit").daemon().start(this::flushLoop);
+        log.info("Group commit enabled (max batch size: {}, linger: {})",
+                groupCommit.maxBatchSize(), groupCommit.linger());
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException
+    {
+        if (flusher == null)
+            return;
+
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+
+        // Nothing will write these anymore
+        PendingCreate pending;
+        while ((pending = queue.poll()) != null)
+            pending.result().completeExceptionally(new RejectedExecutionException("Server is shutting down"));
+    }
+
+
+    // Completes with the saved todo after its transaction COMMITTED
+    public CompletableFuture<Todo> createTodo(TodoRequest todoRequest)
+    {
+        if (!writeProperties.groupCommit().enabled())
+            return CompletableFuture.completedFuture(todoService.createTodo(todoRequest));
+
+        // Same constraints the entity checks on flush, but before the todo joins a batch
+        Set<ConstraintViolation<Todo>> violations = validator.validateValue(Todo.class, "title", todoRequest.title());
+        if (!violations.isEmpty())
+            throw new ConstraintViolationException(violations);
+
+        PendingCreate pending = new PendingCreate(todoRequest, new CompletableFuture<>());
+        if (!running || !queue.offer(pending)) {
+            log.warn("Cannot create todo - group commit queue is full");
+            throw new RejectedExecutionException("Too many pending creates, retry later");
+        }
+
+        return pending.result();
+    }
+
+
+    private void flushLoop()
+    {
+        WriteProperties.GroupCommit groupCommit = writeProperties.groupCommit();
+        List<PendingCreate> batch = new ArrayList<>(groupCommit.maxBatchSize());
+
+        while (running || !queue.isEmpty()) {
+            try {
+                // Wait for the first create of the next batch
+                PendingCreate first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null)
+                    continue;
+                batch.add(first);
+
+                // Collect more until the batch is full or linger has passed
+                long deadline = System.nanoTime() + groupCommit.linger().toNanos();
+                while (batch.size() < groupCommit.maxBatchSize()) {
+                    queue.drainTo(batch, groupCommit.maxBatchSize() - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= groupCommit.maxBatchSize() || remaining <= 0)
+                        break;
+
+                    PendingCreate next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null)
+                        break;
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                batch.forEach(pending -> pending.result().completeExceptionally(ex));
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Group commit flusher failed", ex);
+                batch.forEach(pending -> pending.result().completeExceptionally(ex));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingCreate> batch)
+    {
+        log.debug("Group commit of {} todos", batch.size());
+        batchSizes.record(batch.size());
+
+        long start = System.nanoTime();
+        try {
+            List<Todo> savedTodos = transactionTemplate.execute(status -> {
+                List<Todo> newTodos = batch.stream()
+                        .map(pending -> new Todo(pending.todoRequest().title()))
+                        .toList();
+
+                // INSERTs are sent as JDBC batch on commit, saveAll() keeps the order
+                List<Todo> saved = todoRepository.saveAll(newTodos);
+                saved.forEach(todo -> eventPublisher.publishEvent(TodoEvent.created(todo)));
+                return saved;
+            });
+            flushTimer.withTag("outcome", "success").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            // Committed -> answer the callers
+            for (int i = 0; i < batch.size(); i++)
+                batch.get(i).result().complete(savedTodos.get(i));
+
+        } catch (RuntimeException ex) {
+            flushTimer.withTag("outcome", "error").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            log.warn("Group commit of {} todos failed, retrying one by one: {}", batch.size(), ex.getMessage());
+
+            for (PendingCreate pending : batch) {
+                try {
+                    pending.result().complete(todoService.createTodo(pending.todoRequest()));
+                } catch (RuntimeException single) {
+                    pending.result().completeExceptionally(single);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package at.spengergasse.todo.services;
+
+import at.spengergasse.todo.config.ImportProperties;
+import at.spengergasse.todo.model.modelBean.Todo;
+import at.spengergasse.todo.model.modelStrict.Title;
+import at.spengergasse.todo.persistence.TodoRepository;
+import at.spengergasse.todo.viewmodel.TodoImportResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static at.spengergasse.todo.validation.Guard.hasTextMax;
+
+// Import Service (Bulk Load)
+// ---------------------------------
+// Reads the request body line by line (never the whole body in memory)
+// Every line is validated on its own:
+//   - valid   -> collected into the current chunk
+//   - invalid -> counted as rejected (line number + reason), import continues
+// A full chunk is inserted in its own transaction (todo.import.chunk-size)
+//   - JDBC-batched INSERTs (see TodoBatchService), not one save() per row
+//   - chunks that already committed stay committed if a later chunk fails
+//   - the persistence context is cleared after every chunk: with open-in-view the request's
+//     EntityManager is reused by every chunk transaction, without clear() every imported todo
+//     would stay managed (memory grows with the rows, every flush dirty-checks all earlier rows)
+
+
+// Supported Formats
+// ---------------------------------
+// NDJSON (application/x-ndjson): one JSON object per line
+//   {"title": "Buy milk"}
+//   {"title": "Walk the dog"}
+//
+// CSV (text/csv): first column is the title, optional header line "title"
+//   title
+//   Buy milk
+//   "Call Bob, Alice and ""the others"""
+
+@Service
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class TodoImportService
+{
+    private static final Logger log = LoggerFactory.getLogger(TodoImportService.class);
+
+    public enum Format { NDJSON, CSV }
+
+    private final TodoRepository todoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ImportProperties importProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+
+
+    public TodoImportResult importTodos(Reader body, Format format) throws IOException
+    {
+        log.debug("Importing todos ({}) in chunks of {}", format, importProperties.chunkSize());
+
+        int chunkSize = Math.max(1, importProperties.chunkSize());
+        List<Todo> chunk = new ArrayList<>(chunkSize);
+        List<TodoImportResult.Rejection> errors = new ArrayList<>();
+        long accepted = 0;
+        long rejected = 0;
+        long lineNumber = 0;
+
+        BufferedReader reader = new BufferedReader(body);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+
+            // Skip empty lines and the optional CSV header
+            if (line.isBlank() || (format == Format.CSV && lineNumber == 1 && line.trim().equalsIgnoreCase("title")))
+                continue;
+
+            try {
+                chunk.add(new Todo(parseTitle(line, format)));
+            } catch (IllegalArgumentException ex) {
+                rejected++;
+                if (errors.size() < importProperties.maxReportedErrors())
+                    errors.add(new TodoImportResult.Rejection(lineNumber, ex.getMessage()));
+                continue;
+            }
+
+            if (chunk.size() == chunkSize) {
+                accepted += insertChunk(chunk);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty())
+            accepted += insertChunk(chunk);
+
+        log.info("Imported {} todos, rejected {} lines", accepted, rejected);
+        return new TodoImportResult(accepted, rejected, errors);
+    }
+
+
+    // One transaction per chunk, INSERTs are sent as JDBC batches on flush
+    private int insertChunk(List<Todo> chunk)
+    {
+        transactionTemplate.executeWithoutResult(status -> {
+            todoRepository.saveAll(chunk);
+            chunk.forEach(todo -> eventPublisher.publishEvent(TodoEvent.created(todo)));
+
+            // Send the INSERTs, then forget the chunk: nothing of it is dirty-checked again
+            entityManager.flush();
+            entityManager.clear();
+        });
+        log.debug("Inserted chunk of {} todos", chunk.size());
+        return chunk.size();
+    }
+
+
+    // Line -> validated title, throws IllegalArgumentException with the rejection reason
+    private String parseTitle(String line, Format format)
+    {
+        String title = switch (format) {
+            case NDJSON -> parseNdjsonTitle(line);
+            case CSV -> parseCsvTitle(line);
+        };
+
+        if (title == null)
+            throw new IllegalArgumentException("title is missing");
+
+        // Same rules as the Title value object: not blank, trimmed, max 100 chars
+        return hasTextMax(title, Title.MAX_LEN, Title.MAX_LEN_MSG);
+    }
+
+    private String parseNdjsonTitle(String line)
+    {
+        try {
+            JsonNode title = objectMapper.readTree(line).get("title");
+            return (title != null && title.isTextual()) ? title.asText() : null;
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("line is not valid JSON");
+        }
+    }
+
+    // First CSV field, supports "quoted, fields" with "" as escaped quote
+    private String parseCsvTitle(String line)
+    {
+        if (!line.startsWith("\"")) {
+            int comma = line.indexOf(',');
+            return (comma < 0) ? line : line.substring(0, comma);
+        }
+
+        StringBuilder field = new StringBuilder(line.length());
+        for (int i = 1; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c != '"') {
+                field.append(c);
+            } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                field.append('"');
+                i++;
+            } else {
+                return field.toString(); // closing quote
+            }
+        }
+        throw new IllegalArgumentException("unterminated quoted field");
+    }
+}
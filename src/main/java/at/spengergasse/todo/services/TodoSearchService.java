@@ -0,0 +1,251 @@
+package at.spengergasse.todo.services;
+
+import at.spengergasse.todo.config.PaginationProperties;
+import at.spengergasse.todo.model.modelStrict.Title;
+import at.spengergasse.todo.viewmodel.TodoSearchPage;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64Bitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static at.spengergasse.todo.validation.Guard.hasTextMax;
+
+// Title Search (In-Memory Trigram Index)
+// ---------------------------------
+// WHERE title LIKE '%milk%' cannot use a B-tree index -> full table scan per search
+// Instead: inverted index from every 3-character substring (trigram) to the ids containing it
+//
+//   "Buy milk" -> "buy", "uy ", "y m", " mi", "mil", "ilk"
+//   postings:    "mil" -> {1, 7, 42}, "ilk" -> {1, 42}, ...
+//
+// Search "milk":
+//   1. trigrams of the query: "mil", "ilk"
+//   2. intersect their postings -> candidates {1, 42}
+//   3. verify title.contains("milk") (trigrams match in any order -> false positives)
+//   4. rank and paginate
+
+
+// Compact Id Sets (RoaringBitmap, fastutil)
+// ---------------------------------
+// Postings are Roaring64Bitmaps: compressed primitive long sets
+// No boxed Long objects, fast AND between sets
+// Titles by id: Long2ObjectOpenHashMap, primitive long keys in one array
+// (HashMap<Long, String>: a Long and a Node object per todo, a lookup boxes the id)
+
+
+// Keeping the Index in Sync
+// ---------------------------------
+// Startup:  built from the database (streaming export, constant memory)
+// Runtime:  TodoEvent after every committed create / update / delete
+// ReadWriteLock: many concurrent searches, exclusive updates (no synchronized -> no pinning)
+//
+// Rebuild: the new index is filled OUTSIDE the lock (searches keep using the old one),
+// events that commit meanwhile are applied to the old index AND remembered,
+// then replayed on the new index and the new index is swapped in (short write lock)
+
+@Service
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class TodoSearchService
+{
+    private static final Logger log = LoggerFactory.getLogger(TodoSearchService.class);
+
+    private static final int GRAM = 3;
+    private static final String QUERY_MSG =
+            String.format("q should be between %d..%d chars", GRAM, Title.MAX_LEN);
+
+    private final TodoService todoService;
+    private final PaginationProperties pagination;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();          // <- guarded by lock
+    private List<TodoEvent> rebuildEvents;      // <- guarded by lock, non-null while a rebuild runs
+
+
+    // --- Index Maintenance ---
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex()
+    {
+        lock.writeLock().lock();
+        try {
+            rebuildEvents = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index rebuilt = new Index();
+        long indexed = -1;
+        try {
+            indexed = todoService.exportTodos(todo -> rebuilt.index(todo.getId(), todo.getTitle()));
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (indexed >= 0) {
+                    rebuildEvents.forEach(rebuilt::apply); // <- committed during the export
+                    index = rebuilt;
+                }
+                rebuildEvents = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Search index built with {} todos and {} trigrams", indexed, rebuilt.postings.size());
+    }
+
+    @TransactionalEventListener
+    public void onTodoEvent(TodoEvent event)
+    {
+        lock.writeLock().lock();
+        try {
+            index.apply(event);
+            if (rebuildEvents != null)
+                rebuildEvents.add(event);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    // --- Search ---
+
+    public TodoSearchPage search(String q, Integer page, Integer size)
+    {
+        String query = normalize(hasTextMax(q == null ? "" : q, Title.MAX_LEN, QUERY_MSG));
+        if (query.length() < GRAM)
+            throw new IllegalArgumentException(QUERY_MSG);
+
+        int pageNumber = (page == null) ? 0 : Math.max(0, page);
+        int pageSize = pagination.resolve(size);
+
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Roaring64Bitmap candidates = index.candidates(query);
+            LongIterator it = candidates.getLongIterator();
+            while (it.hasNext()) {
+                long id = it.next();
+                String title = index.titles.get(id);
+                String normalized = normalize(title);
+                int position = normalized.indexOf(query);
+                if (position >= 0)
+                    matches.add(new Match(id, title, rank(normalized, query, position)));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Ranking: exact title > prefix > word start > anywhere, then shorter titles, then id
+        matches.sort(Comparator.comparingInt(Match::rank)
+                .thenComparingInt(match -> match.title().length())
+                .thenComparingLong(Match::id));
+
+        int from = (int) Math.min((long) pageNumber * pageSize, matches.size());
+        int to = Math.min(from + pageSize, matches.size());
+        List<TodoSearchPage.Hit> hits = matches.subList(from, to).stream()
+                .map(match -> new TodoSearchPage.Hit(match.id(), match.title()))
+                .toList();
+
+        log.debug("Search '{}' matched {} todos", query, matches.size());
+        return new TodoSearchPage(hits, matches.size(), pageNumber, pageSize);
+    }
+
+    private static int rank(String title, String query, int position)
+    {
+        if (title.equals(query)) return 0;
+        if (position == 0) return 1;
+        if (!Character.isLetterOrDigit(title.charAt(position - 1))) return 2;
+        return 3;
+    }
+
+    private static String normalize(String text)
+    {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> trigrams(String text)
+    {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++)
+            grams.add(text.substring(i, i + GRAM));
+        return grams;
+    }
+
+    private record Match(long id, String title, int rank) { }
+
+
+    // Postings + titles, not thread-safe (see lock)
+    private static final class Index
+    {
+        private final Map<String, Roaring64Bitmap> postings = new HashMap<>();
+        private final Long2ObjectMap<String> titles = new Long2ObjectOpenHashMap<>(); // original titles for verify + rank + hits
+
+        void apply(TodoEvent event)
+        {
+            unindex(event.id());
+            if (event.type() != TodoEvent.Type.DELETED)
+                index(event.id(), event.title());
+        }
+
+        void index(long id, String title)
+        {
+            titles.put(id, title);
+            for (String gram : trigrams(normalize(title)))
+                postings.computeIfAbsent(gram, g -> new Roaring64Bitmap()).addLong(id);
+        }
+
+        void unindex(long id)
+        {
+            String oldTitle = titles.remove(id);
+            if (oldTitle == null)
+                return;
+
+            for (String gram : trigrams(normalize(oldTitle))) {
+                Roaring64Bitmap ids = postings.get(gram);
+                if (ids != null) {
+                    ids.removeLong(id);
+                    if (ids.isEmpty())
+                        postings.remove(gram);
+                }
+            }
+        }
+
+        // Intersect postings, smallest set first (keeps intermediate results small)
+        Roaring64Bitmap candidates(String query)
+        {
+            List<Roaring64Bitmap> sets = new ArrayList<>();
+            for (String gram : trigrams(query)) {
+                Roaring64Bitmap ids = postings.get(gram);
+                if (ids == null)
+                    return new Roaring64Bitmap(); // one trigram without postings -> no match
+                sets.add(ids);
+            }
+            sets.sort(Comparator.comparingLong(Roaring64Bitmap::getLongCardinality));
+
+            Roaring64Bitmap result = new Roaring64Bitmap();
+            result.or(sets.getFirst()); // copy, postings must not be modified
+            for (int i = 1; i < sets.size() && !result.isEmpty(); i++)
+                result.and(sets.get(i));
+            return result;
+        }
+    }
+}
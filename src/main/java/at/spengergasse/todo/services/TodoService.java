@@ -1,16 +1,50 @@
 package at.spengergasse.todo.services;
 
+import at.spengergasse.todo.config.CacheConfig;
+import at.spengergasse.todo.config.PaginationProperties;
+import at.spengergasse.todo.config.WriteProperties;
 import at.spengergasse.todo.exceptions.ServiceException;
 import at.spengergasse.todo.model.modelBean.Todo;
+import at.spengergasse.todo.model.modelBean.TodoItem;
+import at.spengergasse.todo.persistence.TodoItemRepository;
+import at.spengergasse.todo.persistence.TodoItemRow;
 import at.spengergasse.todo.persistence.TodoRepository;
+import at.spengergasse.todo.persistence.TodoVersion;
+import at.spengergasse.todo.viewmodel.TodoCursor;
+import at.spengergasse.todo.viewmodel.TodoDetailView;
+import at.spengergasse.todo.viewmodel.TodoItemRequest;
+import at.spengergasse.todo.viewmodel.TodoItemView;
+import at.spengergasse.todo.viewmodel.TodoPage;
 import at.spengergasse.todo.viewmodel.TodoRequest;
+import at.spengergasse.todo.viewmodel.TodoView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 // Service Layer (Business Logic Layer)
 // ---------------------------------
@@ -41,6 +75,49 @@ import java.util.List;
 // - Changes are flushed to the database when the transaction commits
 
 
+// Read Model (TodoView)
+// ---------------------------------
+// getAllTodos / getOneTodo return TodoView projections, never entities
+//   - no hydration, no dirty-checking snapshots in the read-only transaction
+//   - Jackson serializes a small record instead of a Hibernate entity
+// Write methods still work on the entity (validation, optimistic locking)
+
+
+// Checklist Items (?embed=items)
+// ---------------------------------
+// Page of N todos with items:  page query + ONE items query (WHERE todo_id IN ...) -> 2 queries
+// One todo with items:         ONE query (entity graph, LEFT JOIN)
+// Never one items query per todo (N+1), no matter how large the page is
+// Adding an item increments the version of its todo -> ETags and caches see the change
+
+
+// Read-Through Cache (see CacheConfig)
+// ---------------------------------
+// getOneTodo -> @Cacheable: hot todos are served from memory, no SQL
+// updateTodo / deleteTodo -> @CacheEvict: next read loads the fresh row
+// Entries are immutable TodoView records
+// replica profile: only rows read from the PRIMARY are cached, a replica row may already be stale
+// (cached for the full TTL it would break read-your-writes and answer If-None-Match with old ETags)
+
+
+// Single-Statement Writes (todo.write.single-statement=true)
+// ---------------------------------
+// Entity path:     SELECT (load) + UPDATE (dirty checking)       -> 2 statements
+//                  SELECT (exists) + SELECT (load) + DELETE       -> 3 statements
+// Statement path:  UPDATE ... WHERE id = ?                        -> 1 statement
+//                  DELETE ... WHERE id = ?                        -> 1 statement
+// The affected-row count replaces the existence check (0 rows -> 404)
+// Bulk UPDATE bypasses the entity: title constraints are validated explicitly,
+// the updated entity is not loaded (PUT answers 204 No Content)
+
+
+// Domain Events (see TodoEvent)
+// ---------------------------------
+// Every write publishes a TodoEvent inside its transaction
+// Listeners (@TransactionalEventListener) receive it after the commit
+// DELETED is also seen before the commit: TodoChangeService writes the tombstone
+
+
 // Logging Best Practices
 // ---------------------------------
 // DEBUG level:
@@ -59,9 +136,16 @@ import java.util.List;
 //
 // ERROR level:
 //   - Unexpected failures
+//
+// Hot-path cost:
+//   - placeholders ({}) are only formatted when the event is actually written
+//   - log ids, not entities (toString() of a whole entity per call)
+//   - only arguments that are expensive to compute (a query, a loop) need a log.isXxxEnabled() guard
+//   - prod profile: async appender + per-statement sampling (logback-spring.xml)
 
 
 @Service
+@Profile("!reactive")
 @RequiredArgsConstructor
 @Transactional(readOnly = true)  // <- CLASS LEVEL: Default for all methods
 public class TodoService
@@ -70,32 +154,135 @@ public class TodoService
     private static final Logger log = LoggerFactory.getLogger(TodoService.class);
 
     private final TodoRepository todoRepository;
+    private final TodoItemRepository todoItemRepository;
+    private final PaginationProperties pagination;
+    private final CacheManager cacheManager;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WriteProperties writeProperties;
+    private final Validator validator;
 
 
-    public List<Todo> getAllTodos() // <- READ ONLY
+    public TodoPage<TodoView> getAllTodos(String cursor, Integer size) // <- READ ONLY
     {
-        log.debug("Retrieving all todos");
-        List<Todo> todos = todoRepository.findAll();
+        log.debug("Retrieving todos after cursor: {} with size: {}", cursor, size);
 
-        log.info("Retrieved {} todos", todos.size());
-        return todos;
+        TodoPage<TodoView> page = keysetPage(cursor, size,
+                todoRepository::findViewsByIdGreaterThan, TodoView::id);
+
+        log.info("Retrieved {} todos (hasNext: {})", page.items().size(), page.nextCursor() != null);
+        return page;
     }
 
 
-    public Todo getOneTodo(Long id) // <- READ ONLY
+    // Same page as getAllTodos() with the items of every todo: 2 queries for any page size
+    public TodoPage<TodoDetailView> getAllTodosWithItems(String cursor, Integer size) // <- READ ONLY
+    {
+        log.debug("Retrieving todos with items after cursor: {} with size: {}", cursor, size);
+
+        TodoPage<TodoView> page = keysetPage(cursor, size,
+                todoRepository::findViewsByIdGreaterThan, TodoView::id);
+        if (page.items().isEmpty())
+            return new TodoPage<>(List.of(), null);
+
+        List<Long> todoIds = page.items().stream().map(TodoView::id).toList();
+        Map<Long, List<TodoItemView>> itemsByTodo = todoItemRepository.findRowsByTodoIdIn(todoIds).stream()
+                .collect(Collectors.groupingBy(TodoItemRow::todoId,
+                        Collectors.mapping(row -> new TodoItemView(row.id(), row.title(), row.done()),
+                                Collectors.toList())));
+
+        List<TodoDetailView> todos = page.items().stream()
+                .map(todo -> new TodoDetailView(todo.id(), todo.title(), todo.version(),
+                        itemsByTodo.getOrDefault(todo.id(), List.of())))
+                .toList();
+
+        log.info("Retrieved {} todos with items (hasNext: {})", todos.size(), page.nextCursor() != null);
+        return new TodoPage<>(todos, page.nextCursor());
+    }
+
+
+    // Same page as getAllTodos(), but only (id, version) -> ETag without loading entities
+    public TodoPage<TodoVersion> getTodoPageVersions(String cursor, Integer size) // <- READ ONLY
+    {
+        log.debug("Retrieving todo versions after cursor: {} with size: {}", cursor, size);
+
+        return keysetPage(cursor, size,
+                todoRepository::findVersionsByIdGreaterThan, TodoVersion::id);
+    }
+
+
+    // Version of one todo -> ETag without loading the entity
+    // Cached todo (hot set) -> no SQL at all, otherwise SELECT version only
+    public Long getTodoVersion(Long id) // <- READ ONLY
+    {
+        Cache todoCache = cacheManager.getCache(CacheConfig.TODOS);
+        TodoView cachedTodo = (todoCache != null) ? todoCache.get(id, TodoView.class) : null;
+        if (cachedTodo != null)
+            return cachedTodo.version();
+
+        return todoRepository.findVersionById(id).orElseThrow(() -> {
+            log.warn("Todo not found with id: {}", id);
+            return ServiceException.ofNotFound(id);
+        });
+    }
+
+
+    // Full export with constant memory
+    // Every todo is handed to the sink and then detached,
+    // so the persistence context never holds more than one entity
+    public long exportTodos(Consumer<Todo> sink) // <- READ ONLY
+    {
+        log.debug("Exporting all todos");
+        long exported = 0;
+
+        try (Stream<Todo> todos = todoRepository.streamAllOrderById()) {
+            for (Todo todo : (Iterable<Todo>) todos::iterator) {
+                sink.accept(todo);
+                entityManager.detach(todo);
+                exported++;
+            }
+        }
+
+        log.info("Exported {} todos", exported);
+        return exported;
+    }
+
+
+    @Cacheable(cacheNames = CacheConfig.TODOS, key = "#id",
+            unless = "T(at.spengergasse.todo.routing.ReadWriteRoutingDataSource).lastReadFromReplica()")
+    public TodoView getOneTodo(Long id) // <- READ ONLY
     {
         log.debug("Retrieving todo with id: {}", id);
 
-        Todo todo = todoRepository.findById(id).orElseThrow(() -> {
+        TodoView todo = todoRepository.findViewById(id).orElseThrow(() -> {
             log.warn("Todo not found with id: {}", id);
             return ServiceException.ofNotFound(id);
         });
 
-        log.info("Found todo: {}", todo);
+        log.info("Found todo with id: {}", id);
         return todo;
     }
 
 
+    // One todo with its items: ONE query (entity graph)
+    public TodoDetailView getOneTodoWithItems(Long id) // <- READ ONLY
+    {
+        log.debug("Retrieving todo with items with id: {}", id);
+
+        Todo todo = todoRepository.findWithItemsById(id).orElseThrow(() -> {
+            log.warn("Todo not found with id: {}", id);
+            return ServiceException.ofNotFound(id);
+        });
+
+        List<TodoItemView> items = todo.getItems().stream()
+                .map(item -> new TodoItemView(item.getId(), item.getTitle(), item.isDone()))
+                .toList();
+
+        log.info("Found todo with id: {}", id);
+        return new TodoDetailView(todo.getId(), todo.getTitle(), todo.getVersion(), items);
+    }
+
+
     @Transactional  // <- WRITE OPERATION, overrides class-level
     public Todo createTodo(TodoRequest todoRequest)
     {
@@ -104,17 +291,38 @@ public class TodoService
 
         // JPA will INSERT into database when transaction commits
         Todo savedTodo = todoRepository.save(newTodo);
+        eventPublisher.publishEvent(TodoEvent.created(savedTodo));
 
         log.info("Created todo with id: {}", savedTodo.getId());
         return savedTodo;
     }
 
 
+    // Returns the updated todo (entity path)
+    // or Optional.empty() (statement path, the todo is not loaded again)
     @Transactional // <- WRITE OPERATION, overrides class-level
-    public Todo updateTodo(Long id, TodoRequest todoRequest)
+    @CacheEvict(cacheNames = CacheConfig.TODOS, key = "#id")
+    public Optional<Todo> updateTodo(Long id, TodoRequest todoRequest)
     {
         log.debug("Updating todo with id: {} to title: {}", id, todoRequest.title());
 
+        if (writeProperties.singleStatement()) {
+            // Same constraints as the entity (@NotBlank, @Size), no entity needed
+            Set<ConstraintViolation<Todo>> violations = validator.validateValue(Todo.class, "title", todoRequest.title());
+            if (!violations.isEmpty())
+                throw new ConstraintViolationException(violations);
+
+            // ONE statement: UPDATE todo SET title = ?, version = version + 1, updated_at = ? WHERE id = ?
+            if (todoRepository.updateTitleById(id, todoRequest.title(), Instant.now()) == 0) {
+                log.warn("Cannot update - todo not found with id: {}", id);
+                throw ServiceException.ofNotFound(id);
+            }
+
+            eventPublisher.publishEvent(TodoEvent.updated(id, todoRequest.title()));
+            log.info("Updated todo with id: {}", id);
+            return Optional.empty();
+        }
+
         Todo existingTodo = todoRepository.findById(id).orElseThrow(() -> {
             log.warn("Cannot update - todo not found with id: {}", id);
             return ServiceException.ofNotFound(id);
@@ -125,24 +333,84 @@ public class TodoService
         existingTodo.renameTitle(todoRequest.title());
         //Todo updatedTodo = todoRepository.save(existingTodo);
 
+        // Flush now (instead of on commit) so the event carries the incremented version
+        todoRepository.flush();
+        eventPublisher.publishEvent(TodoEvent.updated(existingTodo));
+
         log.info("Updated todo with id: {}", id);
-        return existingTodo;
+        return Optional.of(existingTodo);
     }
 
 
+    // New item -> the todo gets a new version (PESSIMISTIC_FORCE_INCREMENT)
+    // so ETags, the todo cache and the JSON cache do not serve the todo without it
+    // PESSIMISTIC: version UPDATE runs right away (OPTIMISTIC would only run it at commit,
+    // after the event below) and locks the row until commit
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TODOS, key = "#todoId")
+    public TodoItemView addItem(Long todoId, TodoItemRequest itemRequest)
+    {
+        log.debug("Adding item to todo with id: {}", todoId);
+
+        Todo todo = todoRepository.findById(todoId).orElseThrow(() -> {
+            log.warn("Cannot add item - todo not found with id: {}", todoId);
+            return ServiceException.ofNotFound(todoId);
+        });
+        entityManager.lock(todo, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+
+        // INSERT on commit, the id is already assigned (sequence)
+        TodoItem item = todoItemRepository.save(new TodoItem(todo, itemRequest.title()));
+        eventPublisher.publishEvent(TodoEvent.updated(todo));
+
+        log.info("Added item with id: {} to todo with id: {}", item.getId(), todoId);
+        return new TodoItemView(item.getId(), item.getTitle(), item.isDone());
+    }
+
+
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.TODOS, key = "#id")
     public void deleteTodo(Long id)
     {
         log.debug("Deleting todo with id: {}", id);
 
-        // Verify entity exists before deletion
-        if (!todoRepository.existsById(id)) {
-            log.warn("Cannot delete - todo not found with id: {}", id);
-            throw ServiceException.ofNotFound(id);
+        if (writeProperties.singleStatement()) {
+            // ONE statement: DELETE FROM todo WHERE id = ? (items: ON DELETE CASCADE)
+            if (todoRepository.deleteTodoById(id) == 0) {
+                log.warn("Cannot delete - todo not found with id: {}", id);
+                throw ServiceException.ofNotFound(id);
+            }
+        } else {
+            // Verify entity exists before deletion
+            if (!todoRepository.existsById(id)) {
+                log.warn("Cannot delete - todo not found with id: {}", id);
+                throw ServiceException.ofNotFound(id);
+            }
+
+            // JPA will DELETE from database when transaction commits
+            todoRepository.deleteById(id);
         }
 
-        // JPA will DELETE from database when transaction commits
-        todoRepository.deleteById(id);
+        eventPublisher.publishEvent(TodoEvent.deleted(id));
         log.info("Deleted todo with id: {}", id);
     }
+
+
+    // Keyset Pagination Helper
+    // ---------------------------------
+    // Fetch one extra row to find out if there is a next page (no COUNT query needed)
+    private <T> TodoPage<T> keysetPage(String cursor, Integer size,
+                                       BiFunction<Long, Limit, List<T>> query,
+                                       Function<T, Long> idOf)
+    {
+        Long afterId = (cursor == null) ? 0L : TodoCursor.decode(cursor);
+        int pageSize = pagination.resolve(size);
+
+        List<T> rows = query.apply(afterId, Limit.of(pageSize + 1));
+
+        boolean hasNext = rows.size() > pageSize;
+        List<T> items = hasNext ? List.copyOf(rows.subList(0, pageSize)) : rows;
+        String nextCursor = hasNext ? TodoCursor.encode(idOf.apply(items.getLast())) : null;
+
+        return new TodoPage<>(items, nextCursor);
+    }
 }
@@ -0,0 +1,38 @@
+package at.spengergasse.todo.services;
+
+// Tombstone per Deleted Todo (see TodoChangeService)
+// ---------------------------------
+// BEFORE_COMMIT listener: runs inside the deleting transaction, on its connection
+// -> the tombstone is committed or rolled back together with the DELETE
+//
+// No @Transactional here: the deleting transaction is already active, and Spring rejects
+// @Transactional (other than REQUIRES_NEW / NOT_SUPPORTED) on transactional event listeners
+
+
+import at.spengergasse.todo.model.modelBean.TodoTombstone;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+public class TodoTombstoneRecorder
+{
+    private final EntityManager entityManager;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    void recordTombstone(TodoEvent event)
+    {
+        if (event.type() != TodoEvent.Type.DELETED)
+            return;
+
+        // persist(), not save(): the id is assigned, save() would merge() and SELECT first
+        entityManager.persist(new TodoTombstone(event.id(), Instant.now()));
+    }
+}
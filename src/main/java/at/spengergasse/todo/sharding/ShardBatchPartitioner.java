@@ -0,0 +1,37 @@
+package at.spengergasse.todo.sharding;
+
+// Batch Chunks per Shard (sharding profile)
+// ---------------------------------
+// A batch chunk may name ids of every shard, but one transaction is bound to ONE shard
+// -> TodoBatchService runs one transaction per group: [1, 2, 3, 4] with 3 shards ->
+//    shard 0: [1, 4], shard 1: [2], shard 2: [3]
+
+
+import at.spengergasse.todo.services.TodoBatchPartitioner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToLongFunction;
+
+@Component
+@Profile("sharding")
+public class ShardBatchPartitioner implements TodoBatchPartitioner {
+
+    private final ShardRoutingDataSource shards;
+
+    public ShardBatchPartitioner(ShardRoutingDataSource shards) {
+        this.shards = shards;
+    }
+
+    @Override
+    public <T> List<List<T>> partition(List<T> chunk, ToLongFunction<T> idOf) {
+        Map<Integer, List<T>> byShard = new TreeMap<>(); // <- shard order, deterministic
+        for (T item : chunk)
+            byShard.computeIfAbsent(shards.shardOf(idOf.applyAsLong(item)), shard -> new ArrayList<>()).add(item);
+        return List.copyOf(byShard.values());
+    }
+}
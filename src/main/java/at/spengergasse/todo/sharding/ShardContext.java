@@ -0,0 +1,43 @@
+package at.spengergasse.todo.sharding;
+
+// Shard of the Current Transaction
+// ---------------------------------
+// A JPA transaction uses ONE connection -> it can only ever work on ONE shard
+// The first repository call that needs a shard binds it (ShardRoutingAspect),
+// the connection is taken afterwards (lazy) and routed there (ShardRoutingDataSource)
+//
+// Stored as a transaction synchronization, not as a plain ThreadLocal:
+//   - gone when the transaction completes (nothing to clean up)
+//   - suspended/resumed with the transaction (REQUIRES_NEW may use another shard)
+
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class ShardContext {
+
+    private record Binding(int shard) implements TransactionSynchronization { }
+
+    private ShardContext() {}
+
+    // Shard of the current transaction, null = none bound yet (or no transaction)
+    public static Integer current() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive())
+            return null;
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations())
+            if (synchronization instanceof Binding binding)
+                return binding.shard();
+        return null;
+    }
+
+    // Requires an active transaction and no other shard bound to it
+    public static void bind(int shard) {
+        Integer bound = current();
+        if (bound != null && bound != shard)
+            throw new IllegalArgumentException("transaction on shard " + bound + " cannot access shard " + shard);
+
+        if (bound == null)
+            TransactionSynchronizationManager.registerSynchronization(new Binding(shard));
+    }
+}
@@ -0,0 +1,375 @@
+package at.spengergasse.todo.sharding;
+
+// Sharding Layer under the Repositories (sharding profile)
+// ---------------------------------
+// Services keep calling TodoRepository, TodoItemRepository and TodoTombstoneRepository as before,
+// this aspect decides per call which shard(s) answer:
+//
+//   by id          findViewById(id), updateTitleById(id, ..), deleteTodoById(id), ...
+//                  -> binds the transaction to shardOf(id)
+//   by ids         findAllById(ids), findExistingIds(ids), deleteAllByIdIn(ids)
+//                  -> all ids must live on ONE shard (one transaction = one connection), else 400
+//                  (TodoBatchService splits its chunks per shard first: ShardBatchPartitioner)
+//   placement      save(new Todo) / saveAll(...)  -> next shard (round robin),
+//                  items follow their todo, the sequence of that shard assigns the id
+//   gather, merge  findViewsByIdGreaterThan, findVersionsByIdGreaterThan, findChangedAfter,
+//                  findDeletedAfter -> same query on every shard IN PARALLEL, merged in key order,
+//                  cut to the Limit: the page is identical to the one of a single database
+//   gather, ids    findRowsByTodoIdIn(ids) -> ids split by shard, results concatenated
+//   gather, sum    count(), deleteOlderThan(..) -> sum of all shards
+//   gather, paged  streamAllOrderById() (export, search index rebuild) -> lazy stream over
+//                  merged keyset pages of findByIdGreaterThanOrderByIdAsc, one page in memory
+//
+// Inside a transaction that is already bound to a shard every call stays on that shard
+// (gather workers bind one shard each and call the repository again)
+// Anything else fails: it would silently see one shard only
+
+
+// Gather Workers
+// ---------------------------------
+// One read-only transaction per shard (read-write for @Modifying queries), on virtual threads
+// (own executor, not a bean: an Executor bean would replace Boot's applicationTaskExecutor)
+// Concurrency is bounded by the connection pools of the shards
+// A shard that does not answer within todo.sharding.gather-timeout fails the whole call
+
+
+import at.spengergasse.todo.config.ShardingProperties;
+import at.spengergasse.todo.model.BaseEntity;
+import at.spengergasse.todo.model.modelBean.Todo;
+import at.spengergasse.todo.model.modelBean.TodoItem;
+import at.spengergasse.todo.model.modelBean.TodoTombstone;
+import at.spengergasse.todo.persistence.TodoRepository;
+import at.spengergasse.todo.persistence.TodoRevision;
+import at.spengergasse.todo.persistence.TodoVersion;
+import at.spengergasse.todo.viewmodel.TodoView;
+import jakarta.annotation.PreDestroy;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+@Aspect
+@Component
+@Profile("sharding")
+public class ShardRoutingAspect {
+
+    private static final Set<String> BY_ID = Set.of(
+            "findById", "existsById", "deleteById", "getReferenceById",
+            "findViewById", "findWithItemsById", "findVersionById", "updateTitleById", "deleteTodoById");
+
+    private static final Set<String> BY_IDS = Set.of(
+            "findAllById", "deleteAllById", "findExistingIds", "deleteAllByIdIn");
+
+    private static final Set<String> PLACEMENT = Set.of(
+            "save", "saveAll", "saveAndFlush", "saveAllAndFlush");
+
+    // Key order of each merged query (= its ORDER BY)
+    private static final Map<String, Comparator<Object>> GATHER_MERGED = Map.of(
+            "findByIdGreaterThanOrderByIdAsc", Comparator.comparing((Object row) -> ((Todo) row).getId()),
+            "findViewsByIdGreaterThan", Comparator.comparing((Object row) -> ((TodoView) row).id()),
+            "findVersionsByIdGreaterThan", Comparator.comparing((Object row) -> ((TodoVersion) row).id()),
+            "findChangedAfter", Comparator.comparing((Object row) -> ((TodoRevision) row).updatedAt())
+                    .thenComparing(row -> ((TodoRevision) row).id()),
+            "findDeletedAfter", Comparator.comparing((Object row) -> ((TodoTombstone) row).getDeletedAt())
+                    .thenComparing(row -> ((TodoTombstone) row).getId()));
+
+    private static final Set<String> GATHER_BY_IDS = Set.of("findRowsByTodoIdIn");
+
+    private static final Set<String> GATHER_SUM = Set.of("count", "deleteOlderThan");
+
+    private static final Set<String> GATHER_PAGED = Set.of("streamAllOrderById");
+
+    // Rows per merged page of a paged stream (= fetch size of the single-database stream)
+    private static final int STREAM_PAGE_SIZE = 500;
+
+    // No SQL of their own
+    private static final Set<String> UNROUTED = Set.of("flush");
+
+    private final ShardRoutingDataSource shards;
+    private final PlatformTransactionManager transactionManager;
+    private final Duration gatherTimeout;
+    private final AtomicInteger nextShard = new AtomicInteger();
+    private final ExecutorService gatherExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("shard-gather-", 0).factory());
+
+    public ShardRoutingAspect(ShardRoutingDataSource shards,
+                              PlatformTransactionManager transactionManager,
+                              ShardingProperties properties) {
+        this.shards = shards;
+        this.transactionManager = transactionManager;
+        this.gatherTimeout = properties.gatherTimeout();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        gatherExecutor.shutdownNow();
+    }
+
+
+    @Around("this(at.spengergasse.todo.persistence.TodoRepository)"
+            + " || this(at.spengergasse.todo.persistence.TodoItemRepository)"
+            + " || this(at.spengergasse.todo.persistence.TodoTombstoneRepository)")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        String name = method.getName();
+        Object[] args = joinPoint.getArgs();
+
+        if (method.getDeclaringClass() == Object.class) // <- toString() of the proxy
+            return joinPoint.proceed();
+
+        // Already on a shard: stay there (a different shard fails in bind())
+        if (ShardContext.current() != null) {
+            Integer required = requiredShard(name, args);
+            if (required != null)
+                ShardContext.bind(required);
+            return joinPoint.proceed();
+        }
+
+        if (BY_ID.contains(name) || BY_IDS.contains(name)) {
+            Integer required = requiredShard(name, args);
+            return inShard(required != null ? required : 0, joinPoint); // <- no ids: any shard answers
+        }
+        if (PLACEMENT.contains(name))
+            return inShard(placementOf(args[0]), joinPoint);
+
+        if (GATHER_MERGED.containsKey(name))
+            return merged(gather(joinPoint, method, shard -> args), GATHER_MERGED.get(name), limitOf(args));
+        if (GATHER_BY_IDS.contains(name))
+            return concatenated(gather(joinPoint, method, shard -> argsForShard(args, shard)));
+        if (GATHER_SUM.contains(name))
+            return sum(gather(joinPoint, method, shard -> args), method.getReturnType());
+        if (GATHER_PAGED.contains(name))
+            return pagedStream((TodoRepository) joinPoint.getThis());
+
+        if (UNROUTED.contains(name))
+            return joinPoint.proceed();
+
+        throw new UnsupportedOperationException(
+                method.getDeclaringClass().getSimpleName() + "." + name + " is not supported across shards");
+    }
+
+
+    // --- Shard Selection ---
+
+    // Shard required by the ids in the arguments, null = call does not name ids
+    private Integer requiredShard(String name, Object[] args) {
+        if (BY_ID.contains(name))
+            return (args[0] instanceof Long id) ? shards.shardOf(id) : null;
+
+        if (BY_IDS.contains(name)) {
+            Set<Integer> required = idsOf(args[0]).stream().map(shards::shardOf).collect(Collectors.toSet());
+            if (required.size() > 1)
+                throw new IllegalArgumentException("ids are spread over shards " + required
+                        + ", one transaction can only touch one shard");
+            return required.isEmpty() ? null : required.iterator().next();
+        }
+        return null;
+    }
+
+    // New todos: round robin, items: shard of their todo, existing entities: shard of their id
+    private int placementOf(Object entityOrEntities) {
+        Object entity = entityOrEntities;
+        if (entityOrEntities instanceof Iterable<?> entities) {
+            Iterator<?> iterator = entities.iterator();
+            entity = iterator.hasNext() ? iterator.next() : null;
+        }
+
+        if (entity instanceof TodoItem item && item.getTodo() != null && !item.getTodo().isTransient())
+            return shards.shardOf(item.getTodo().getId());
+        if (entity instanceof BaseEntity existing && !existing.isTransient())
+            return shards.shardOf(existing.getId());
+        return Math.floorMod(nextShard.getAndIncrement(), shards.shardCount());
+    }
+
+    // Binds the current transaction, or runs the call in a new one bound to the shard
+    private Object inShard(int shard, ProceedingJoinPoint joinPoint) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            ShardContext.bind(shard);
+            return proceed(joinPoint::proceed);
+        }
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            ShardContext.bind(shard);
+            return proceed(joinPoint::proceed);
+        });
+    }
+
+
+    // --- Scatter-Gather ---
+
+    private interface Call {
+        Object run() throws Throwable;
+    }
+
+    private interface ArgsPerShard {
+        Object[] of(int shard); // <- null = shard is not asked
+    }
+
+    // Results of all asked shards, in shard order
+    private List<Object> gather(ProceedingJoinPoint joinPoint, Method method, ArgsPerShard argsPerShard) {
+        Object repository = joinPoint.getThis();
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(!AnnotatedElementUtils.hasAnnotation(method, Modifying.class));
+
+        List<Future<Object>> futures = new ArrayList<>(shards.shardCount());
+        for (int shard = 0; shard < shards.shardCount(); shard++) {
+            int target = shard;
+            Object[] args = argsPerShard.of(shard);
+            if (args == null)
+                continue;
+
+            futures.add(gatherExecutor.submit(() -> transaction.execute(status -> {
+                ShardContext.bind(target);
+                return proceed(() -> method.invoke(repository, args));
+            })));
+        }
+
+        long deadline = System.nanoTime() + gatherTimeout.toNanos();
+        List<Object> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<Object> future : futures)
+                results.add(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            return results;
+        } catch (TimeoutException ex) {
+            futures.forEach(future -> future.cancel(true));
+            throw new QueryTimeoutException("shards did not answer within " + gatherTimeout, ex);
+        } catch (ExecutionException ex) {
+            futures.forEach(future -> future.cancel(true));
+            throw (ex.getCause() instanceof RuntimeException cause) ? cause : new UndeclaredThrowableException(ex.getCause());
+        } catch (InterruptedException ex) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while gathering shards", ex);
+        }
+    }
+
+    // Each shard returns at most limit rows in key order -> the first limit rows of all
+    // (at most shards x limit rows, sorting them is cheaper than one more round trip)
+    private static List<Object> merged(List<Object> results, Comparator<Object> keyOrder, int limit) {
+        return results.stream()
+                .flatMap(rows -> ((List<?>) rows).stream())
+                .map(Object.class::cast)
+                .sorted(keyOrder)
+                .limit(limit)
+                .toList();
+    }
+
+    private static List<Object> concatenated(List<Object> results) {
+        return results.stream()
+                .flatMap(rows -> ((List<?>) rows).stream())
+                .map(Object.class::cast)
+                .toList();
+    }
+
+    private static Object sum(List<Object> results, Class<?> returnType) {
+        long total = results.stream().mapToLong(result -> ((Number) result).longValue()).sum();
+        return (returnType == int.class || returnType == Integer.class) ? Math.toIntExact(total) : total;
+    }
+
+    // Lazy: the next merged page is gathered when the previous one is consumed
+    // Entities come from the gather transactions -> already detached
+    private static Stream<Todo> pagedStream(TodoRepository repository) {
+        Iterator<Todo> todos = new Iterator<>() {
+            private List<Todo> page = List.of();
+            private int next;
+            private long afterId;
+            private boolean lastPage;
+
+            @Override
+            public boolean hasNext() {
+                if (next < page.size())
+                    return true;
+                if (lastPage)
+                    return false;
+
+                page = repository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(STREAM_PAGE_SIZE));
+                next = 0;
+                lastPage = page.size() < STREAM_PAGE_SIZE;
+                if (!page.isEmpty())
+                    afterId = page.getLast().getId();
+                return !page.isEmpty();
+            }
+
+            @Override
+            public Todo next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                return page.get(next++);
+            }
+        };
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(todos, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    // Same arguments, first argument reduced to the ids of this shard
+    private Object[] argsForShard(Object[] args, int shard) {
+        List<Long> ids = idsOf(args[0]).stream().filter(id -> shards.shardOf(id) == shard).toList();
+        if (ids.isEmpty())
+            return null;
+
+        Object[] shardArgs = args.clone();
+        shardArgs[0] = ids;
+        return shardArgs;
+    }
+
+    private static Collection<Long> idsOf(Object arg) {
+        List<Long> ids = new ArrayList<>();
+        for (Object id : (Iterable<?>) arg)
+            ids.add((Long) id);
+        return ids;
+    }
+
+    private static int limitOf(Object[] args) {
+        for (Object arg : args)
+            if (arg instanceof Limit limit && limit.isLimited())
+                return limit.max();
+        return Integer.MAX_VALUE;
+    }
+
+    // Repository methods throw unchecked exceptions only, rethrown unchanged
+    private static Object proceed(Call call) {
+        try {
+            return call.run();
+        } catch (InvocationTargetException ex) {
+            throw (ex.getCause() instanceof RuntimeException cause) ? cause : new UndeclaredThrowableException(ex.getCause());
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new UndeclaredThrowableException(ex);
+        }
+    }
+}
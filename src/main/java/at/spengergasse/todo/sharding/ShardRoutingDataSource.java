@@ -0,0 +1,75 @@
+package at.spengergasse.todo.sharding;
+
+// Shard Routing (sharding profile)
+// ---------------------------------
+// N databases, each holds a slice of the todos (and their items and tombstones)
+// Shard key: the id itself -> shard = (id - 1) mod N
+//
+// Globally unique ids without IDENTITY columns: every shard has its own entity_seq,
+// interleaved (ShardSchemaInitializer):
+//
+//   shard 0: 1, 1+N, 1+2N, ...     shard 1: 2, 2+N, 2+2N, ...     shard k: k+1, k+1+N, ...
+//
+// The sequence runs on the shard the row is inserted into, so a new id always points
+// back to the shard that holds its row, no lookup table, no coordination between shards
+//
+// The connection of a transaction goes to the shard bound in ShardContext
+// No shard bound (startup, schema, metadata) -> shard 0
+
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private final List<DataSource> shards;
+
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        if (shards.isEmpty())
+            throw new IllegalArgumentException("at least one shard is required");
+        this.shards = List.copyOf(shards);
+
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shards.size(); shard++)
+            targets.put(shard, shards.get(shard));
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.getFirst());
+        afterPropertiesSet();
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    public int shardOf(long id) {
+        return (int) Math.floorMod(id - 1, (long) shards.size());
+    }
+
+    // Direct access for schema setup, bypasses routing
+    public DataSource shard(int shard) {
+        return shards.get(shard);
+    }
+
+    @Override
+    protected Integer determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    @Override
+    public void close() {
+        for (DataSource shard : shards)
+            if (shard instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ex) {
+                    logger.warn("Cannot close shard DataSource", ex);
+                }
+            }
+    }
+}
@@ -0,0 +1,62 @@
+package at.spengergasse.todo.sharding;
+
+// Shard Schema (sharding profile, local H2)
+// ---------------------------------
+// Hibernate creates the schema once (ddl-auto), through the routing DataSource -> on shard 0
+// After that (EntityManagerFactory is a constructor argument) this bean:
+//   1. copies the schema of shard 0 to every other shard (SCRIPT NODATA)
+//   2. interleaves entity_seq: shard k starts at k+1 and steps by N (see ShardRoutingDataSource)
+//
+// Step 2 needs one sequence call per id: with a pooled optimizer (allocationSize 50) a block
+// fetched on one shard would be handed out in a transaction on another shard
+// -> application-sharding.properties turns the optimizer off (hibernate.id.optimizer.pooled.preferred=none)
+//
+// Production databases get their schema from migrations, step 2 is then part of the shard setup
+
+
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ShardSchemaInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+    private static final String SEQUENCE = "entity_seq";
+
+    public ShardSchemaInitializer(EntityManagerFactory schemaCreated, ShardRoutingDataSource shards) throws SQLException {
+        List<String> ddl = schemaOf(shards, 0);
+
+        for (int shard = 0; shard < shards.shardCount(); shard++) {
+            try (Connection connection = shards.shard(shard).getConnection();
+                 Statement statement = connection.createStatement()) {
+                if (shard > 0)
+                    for (String sql : ddl)
+                        statement.execute(sql);
+
+                statement.execute("ALTER SEQUENCE " + SEQUENCE
+                        + " RESTART WITH " + (shard + 1) + " INCREMENT BY " + shards.shardCount());
+            }
+        }
+
+        log.info("Schema ready on {} shards", shards.shardCount());
+    }
+
+    private static List<String> schemaOf(ShardRoutingDataSource shards, int shard) throws SQLException {
+        try (Connection connection = shards.shard(shard).getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet script = statement.executeQuery("SCRIPT NODATA")) {
+            List<String> ddl = new ArrayList<>();
+            while (script.next())
+                ddl.add(script.getString(1));
+            return ddl;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package at.spengergasse.todo.viewmodel;
+
+// Response DTO for DELETE /api/todos/batch
+// requested: number of ids sent by the client
+// deleted:   number of rows actually deleted (unknown ids are skipped)
+
+public record TodoBatchDeleteResult(
+        int requested,
+        int deleted
+) { }
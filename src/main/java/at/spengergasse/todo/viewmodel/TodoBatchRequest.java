@@ -0,0 +1,23 @@
+package at.spengergasse.todo.viewmodel;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+// DTO for the /api/todos/batch endpoints
+// ---------------------------------
+// Wraps the operations in an object (instead of a bare JSON array),
+// so @Valid cascades into every element -> 400 with "items[3].title: ..."
+//
+// POST   /api/todos/batch  { "items": [ { "title": "a" }, { "title": "b" } ] }
+// PUT    /api/todos/batch  { "items": [ { "id": 1, "title": "a" } ] }
+// DELETE /api/todos/batch  { "items": [ 1, 2, 3 ] }
+
+public record TodoBatchRequest<T>(
+        @NotEmpty(message = "items should not be empty")
+        @Size(max = 10_000, message = "items should not exceed 10000 operations")
+        List<@NotNull @Valid T> items
+) { }
@@ -0,0 +1,16 @@
+package at.spengergasse.todo.viewmodel;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import jakarta.validation.constraints.NotNull;
+
+// DTO - one update operation of PUT /api/todos/batch
+
+public record TodoBatchUpdate(
+        @NotNull(message = "id should not be null")
+        Long id,
+
+        @NotBlank(message = "title should not be blank")
+        @Size(max = 100, message = "title must not exceed 100 characters")
+        String title
+) { }
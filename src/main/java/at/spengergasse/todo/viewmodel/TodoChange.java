@@ -0,0 +1,25 @@
+package at.spengergasse.todo.viewmodel;
+
+// One entry of GET /api/todos/changes
+// ---------------------------------
+// UPSERT:  the todo exists with this title/version (created or updated since the cursor)
+// DELETED: the todo was deleted, title and version are null
+//
+// Only the latest state of a todo is reported, not every intermediate write
+
+public record TodoChange(
+        Type type,
+        Long id,
+        String title,
+        Long version
+) {
+    public enum Type { UPSERT, DELETED }
+
+    public static TodoChange upsert(Long id, String title, Long version) {
+        return new TodoChange(Type.UPSERT, id, title, version);
+    }
+
+    public static TodoChange deleted(Long id) {
+        return new TodoChange(Type.DELETED, id, null, null);
+    }
+}
@@ -0,0 +1,47 @@
+package at.spengergasse.todo.viewmodel;
+
+// Cursor Token (Delta Sync)
+// ---------------------------------
+// Opaque token handed to the client as "nextCursor" of GET /api/todos/changes
+// Encodes the position of the last reported change: (time of change, todo id)
+// Base64 URL-safe, no padding, clients send it back unchanged as ?since=
+//
+// The id breaks ties between changes with the same timestamp
+
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+public record TodoChangeCursor(
+        Instant changedAt,
+        Long id
+) {
+    // Position before the first change -> full sync
+    public static final TodoChangeCursor START = new TodoChangeCursor(Instant.EPOCH, 0L);
+
+    public String encode() {
+        String position = changedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(position.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // Throws IllegalArgumentException -> 400 BAD_REQUEST (GlobalExceptionHandler)
+    public static TodoChangeCursor decode(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            int separator = position.indexOf('|');
+
+            Instant changedAt = Instant.parse(position.substring(0, separator));
+            long id = Long.parseLong(position.substring(separator + 1));
+
+            if (id < 0)
+                throw new IllegalArgumentException("cursor is invalid");
+
+            return new TodoChangeCursor(changedAt, id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException ex) {
+            throw new IllegalArgumentException("cursor is invalid");
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package at.spengergasse.todo.viewmodel;
+
+import java.util.List;
+
+// Response DTO for GET /api/todos/changes
+// ---------------------------------
+// changes:    upserts and deletes in change order
+// nextCursor: ALWAYS set, the client stores it and sends it as ?since= next time
+// hasMore:    true -> more changes are waiting, ask again right away
+//
+// Example:
+//   { "changes": [ {"type":"UPSERT","id":1,...}, {"type":"DELETED","id":7,...} ],
+//     "nextCursor": "MjAyNi0...", "hasMore": false }
+
+public record TodoChangePage(
+        List<TodoChange> changes,
+        String nextCursor,
+        boolean hasMore
+) { }
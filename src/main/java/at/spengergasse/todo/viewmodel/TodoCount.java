@@ -0,0 +1,8 @@
+package at.spengergasse.todo.viewmodel;
+
+// Response DTO for GET /api/todos/count
+// Example: { "count": 1234 }
+
+public record TodoCount(
+        long count
+) { }
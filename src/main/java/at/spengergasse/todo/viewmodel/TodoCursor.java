@@ -0,0 +1,40 @@
+package at.spengergasse.todo.viewmodel;
+
+// Cursor Token (Keyset Pagination)
+// ---------------------------------
+// Opaque token handed to the client as "nextCursor"
+// Encodes the last seen id (Base64 URL-safe, no padding)
+// Clients must not parse it, they just send it back as ?cursor=
+//
+// Keyset vs. Offset:
+//   - OFFSET 100000 -> database reads and discards 100000 rows (gets slower per page)
+//   - WHERE id > :lastId ORDER BY id LIMIT n -> index range scan (constant cost per page)
+
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public final class TodoCursor {
+
+    private TodoCursor() {}
+
+    public static String encode(Long lastId) {
+        byte[] bytes = Long.toString(lastId).getBytes(StandardCharsets.US_ASCII);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    // Throws IllegalArgumentException -> 400 BAD_REQUEST (GlobalExceptionHandler)
+    public static Long decode(String cursor) {
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            long lastId = Long.parseLong(new String(bytes, StandardCharsets.US_ASCII));
+
+            if (lastId < 0)
+                throw new IllegalArgumentException("cursor is invalid");
+
+            return lastId;
+        } catch (IllegalArgumentException ex) { // NumberFormatException is an IllegalArgumentException
+            throw new IllegalArgumentException("cursor is invalid");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package at.spengergasse.todo.viewmodel;
+
+import java.util.List;
+
+// Read Model: one todo WITH its checklist items (?embed=items)
+// ---------------------------------
+// Same properties as TodoView plus "items" (ordered by id, empty list if there are none)
+// Example: {"id":1,"title":"Buy milk","version":3,"items":[{"id":51,"title":"Oat milk","done":false}]}
+
+public record TodoDetailView(
+        Long id,
+        String title,
+        Long version,
+        List<TodoItemView> items
+) { }
@@ -0,0 +1,24 @@
+package at.spengergasse.todo.viewmodel;
+
+import java.util.List;
+
+// Response DTO for POST /api/todos/import
+// ---------------------------------
+// accepted:  rows inserted
+// rejected:  rows skipped because of validation errors
+// errors:    line number + reason of the first rejected rows (bounded list)
+//
+// Example:
+//   { "accepted": 99998, "rejected": 2,
+//     "errors": [ { "line": 17, "reason": "title should be between 1..100 chars" }, ... ] }
+
+public record TodoImportResult(
+        long accepted,
+        long rejected,
+        List<Rejection> errors
+) {
+    public record Rejection(
+            long line,
+            String reason
+    ) { }
+}
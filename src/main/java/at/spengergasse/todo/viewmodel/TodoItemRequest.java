@@ -0,0 +1,12 @@
+package at.spengergasse.todo.viewmodel;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+// DTO for POST /api/todos/{id}/items
+
+public record TodoItemRequest(
+        @NotBlank(message = "title should not be blank")
+        @Size(max = 100, message = "title must not exceed 100 characters")
+        String title
+) { }
@@ -0,0 +1,10 @@
+package at.spengergasse.todo.viewmodel;
+
+// Read Model: one checklist item, embedded in TodoDetailView
+// Example: {"id":51,"title":"Oat milk","done":false}
+
+public record TodoItemView(
+        Long id,
+        String title,
+        boolean done
+) { }
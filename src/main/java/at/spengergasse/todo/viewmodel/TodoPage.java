@@ -0,0 +1,19 @@
+package at.spengergasse.todo.viewmodel;
+
+import java.util.List;
+
+// Response DTO for GET /api/todos
+// ---------------------------------
+// items:      one page of todos, ordered by id
+// nextCursor: token for the next page, null on the last page
+//
+// Example:
+//   { "items": [ {...}, {...} ], "nextCursor": "NTA" }
+//   GET /api/todos?cursor=NTA -> next page
+//
+// Generic: the same page structure works for entities and projections
+
+public record TodoPage<T>(
+        List<T> items,
+        String nextCursor
+) { }
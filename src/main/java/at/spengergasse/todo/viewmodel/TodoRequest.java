@@ -1,6 +1,7 @@
 package at.spengergasse.todo.viewmodel;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
 // DTO
 // Data Transfer Object
@@ -11,5 +12,6 @@ import jakarta.validation.constraints.NotBlank;
 public record TodoRequest(
         // Fail Fast in the API Boundary
         @NotBlank(message = "title should not be blank")
+        @Size(max = 100, message = "title must not exceed 100 characters")
         String title
 ) { }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package at.spengergasse.todo.viewmodel;
+
+import java.util.List;
+
+// Response DTO for GET /api/todos/search?q=milk&page=0&size=20
+// ---------------------------------
+// hits:  ranked matches of the requested page
+// total: number of all matches
+// page:  0-based page number, size: page size
+//
+// Ranked results cannot use a keyset cursor (order is by relevance, not by id),
+// search pages are small and come from memory, so page numbers are fine here
+
+public record TodoSearchPage(
+        List<Hit> hits,
+        long total,
+        int page,
+        int size
+) {
+    public record Hit(
+            Long id,
+            String title
+    ) { }
+}
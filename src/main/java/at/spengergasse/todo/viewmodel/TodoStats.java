@@ -0,0 +1,21 @@
+package at.spengergasse.todo.viewmodel;
+
+import java.time.Instant;
+
+// Response DTO for GET /api/todos/stats
+// ---------------------------------
+// count:        todos in the database (maintained counter, see TodoCountService)
+// created/updated/deleted: committed writes on THIS instance since it started
+// reconciledAt: last time count was compared with the database (null = not yet)
+//
+// Example:
+//   { "count": 1234, "created": 1500, "updated": 320, "deleted": 266,
+//     "reconciledAt": "2026-10-17T08:00:00Z" }
+
+public record TodoStats(
+        long count,
+        long created,
+        long updated,
+        long deleted,
+        Instant reconciledAt
+) { }
@@ -0,0 +1,14 @@
+package at.spengergasse.todo.viewmodel;
+
+// Read Model: one todo as returned by GET /api/todos and GET /api/todos/{id}
+// ---------------------------------
+// Filled by a JPQL constructor expression (TodoRepository), not by entity hydration:
+//   - no managed entity, no dirty-checking snapshot, no persistence context entry
+//   - immutable -> safe to share between requests from the cache
+// Same JSON properties as the Todo entity: {"id":1,"title":"Buy milk","version":0}
+
+public record TodoView(
+        Long id,
+        String title,
+        Long version
+) { }
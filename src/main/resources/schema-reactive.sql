@@ -0,0 +1,9 @@
+-- Schema for the reactive profile (R2DBC, no Hibernate DDL)
+-- Same table as the Todo entity; single-row inserts -> IDENTITY is fine here
+-- (the JPA stack uses a pooled sequence for JDBC insert batching)
+
+CREATE TABLE IF NOT EXISTS todo (
+    id      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title   VARCHAR(100) NOT NULL,
+    version BIGINT NOT NULL
+);
@@ -0,0 +1,135 @@
+package at.spengergasse.todo.controller;
+
+import at.spengergasse.todo.services.TodoService;
+import at.spengergasse.todo.sql.SqlCountingConfig;
+import at.spengergasse.todo.sql.SqlCounts;
+import at.spengergasse.todo.sql.SqlStatementCounter;
+import at.spengergasse.todo.viewmodel.TodoItemRequest;
+import at.spengergasse.todo.viewmodel.TodoRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// SQL Statement Counts of the DEFAULT Write Path (todo.write.single-statement=false)
+// ---------------------------------
+// Same rules as TodoControllerSqlCountTest (exact counts, JDBC batch = ONE statement),
+// but with the settings that ship: writes go through the entity
+//   PUT    -> findById + UPDATE (dirty checking)
+//   DELETE -> existsById + deleteById (loads the entity) + DELETE
+// Batch writes do not depend on the flag, pinned here as well
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:sqlcount_default")
+@AutoConfigureMockMvc
+@Import(SqlCountingConfig.class)
+class TodoControllerDefaultWriteSqlCountTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private SqlStatementCounter sql;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+
+        id = todoService.createTodo(new TodoRequest("Fixture")).getId();
+        todoService.addItem(id, new TodoItemRequest("Fixture item"));
+        sql.reset();
+    }
+
+
+    // --- Single Writes ---
+
+    @Test
+    void updateTodo() throws Exception {
+        mvc.perform(put("/api/todos/{id}", id).contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"Renamed\"}"))
+                .andExpect(status().isOk());
+
+        assertSql(new SqlCounts(1, 0, 1, 0)); // load, dirty-checked UPDATE
+    }
+
+    @Test
+    void updateTodo_unknownId() throws Exception {
+        mvc.perform(put("/api/todos/{id}", -1L).contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"Renamed\"}"))
+                .andExpect(status().isNotFound());
+
+        assertSql(new SqlCounts(1, 0, 0, 0));
+    }
+
+    @Test
+    void deleteTodo() throws Exception {
+        mvc.perform(delete("/api/todos/{id}", id)).andExpect(status().isNoContent());
+
+        assertSql(new SqlCounts(2, 1, 0, 1)); // existsById, load, DELETE (items: ON DELETE CASCADE) + tombstone
+    }
+
+    @Test
+    void deleteTodo_unknownId() throws Exception {
+        mvc.perform(delete("/api/todos/{id}", -1L)).andExpect(status().isNotFound());
+
+        assertSql(new SqlCounts(1, 0, 0, 0)); // existsById only
+    }
+
+
+    // --- Batch Writes (3 operations, one chunk) ---
+
+    @Test
+    void updateTodos() throws Exception {
+        List<Long> ids = createTodos(3);
+
+        mvc.perform(put("/api/todos/batch").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\":[{\"id\":%d,\"title\":\"x\"},{\"id\":%d,\"title\":\"y\"},{\"id\":%d,\"title\":\"z\"}]}"
+                        .formatted(ids.get(0), ids.get(1), ids.get(2))))
+                .andExpect(status().isOk());
+
+        assertSql(new SqlCounts(1, 0, 1, 0)); // ONE select (IN), ONE update batch
+    }
+
+    @Test
+    void deleteTodos() throws Exception {
+        List<Long> ids = createTodos(3);
+
+        mvc.perform(delete("/api/todos/batch").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\":[%d,%d,%d]}".formatted(ids.get(0), ids.get(1), ids.get(2))))
+                .andExpect(status().isOk());
+
+        assertSql(new SqlCounts(1, 1, 0, 1)); // existing ids, bulk DELETE, tombstone batch
+    }
+
+
+    private List<Long> createTodos(int count) {
+        List<Long> ids = IntStream.range(0, count)
+                .mapToObj(i -> todoService.createTodo(new TodoRequest("Todo " + i)).getId())
+                .toList();
+        sql.reset();
+        return ids;
+    }
+
+    private void assertSql(SqlCounts expected) {
+        assertThat(sql.counts()).isEqualTo(expected);
+    }
+}
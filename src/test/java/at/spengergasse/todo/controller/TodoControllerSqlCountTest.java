@@ -0,0 +1,316 @@
+package at.spengergasse.todo.controller;
+
+import at.spengergasse.todo.services.TodoService;
+import at.spengergasse.todo.sql.SqlCountingConfig;
+import at.spengergasse.todo.sql.SqlCounts;
+import at.spengergasse.todo.sql.SqlStatementCounter;
+import at.spengergasse.todo.viewmodel.TodoItemRequest;
+import at.spengergasse.todo.viewmodel.TodoRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// SQL Statement-Count Regression Suite (one test per TodoController endpoint)
+// ---------------------------------
+// Performance regressions mostly show up as EXTRA SQL: an existsById() before a delete,
+// a lazy load per row, a SELECT before an UPDATE, ...
+// Every endpoint is called through MockMvc and the statements that reached the JDBC driver
+// are compared with the EXACT expected counts (SELECT, INSERT, UPDATE, DELETE)
+//   -> one statement more fails the build
+//   -> one statement less fails too: update the expectation on purpose
+//
+// Counted with a JDBC proxy (see SqlCountingConfig), a JDBC batch counts as ONE statement
+// Single-statement writes (opt-in), otherwise defaults of application.properties: group commit off, caches on
+// (default entity write path: TodoControllerDefaultWriteSqlCountTest)
+// Caches are cleared before every test -> "cold" counts unless a test warms them up
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sqlcount",
+        "todo.write.single-statement=true"
+})
+@AutoConfigureMockMvc
+@Import(SqlCountingConfig.class)
+class TodoControllerSqlCountTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private SqlStatementCounter sql;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+
+        id = todoService.createTodo(new TodoRequest("Fixture")).getId();
+        todoService.addItem(id, new TodoItemRequest("Fixture item"));
+        sql.reset();
+    }
+
+
+    // --- Reads ---
+
+    @Test
+    void getAllTodos() throws Exception {
+        perform(get("/api/todos")).andExpect(status().isOk());
+
+        assertSql(new SqlCounts(1, 0, 0, 0));
+    }
+
+    @Test
+    void getAllTodos_notModified() throws Exception {
+        String eTag = perform(get("/api/todos")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        sql.reset();
+
+        perform(get("/api/todos").header(HttpHeaders.IF_NONE_MATCH, eTag)).andExpect(status().isNotModified());
+
+        assertSql(new SqlCounts(1, 0, 0, 0)); // (id, version) pairs only
+    }
+
+    @Test
+    void getAllTodos_embedItems() throws Exception {
+        perform(get("/api/todos").param("embed", "items")).andExpect(status().isOk());
+
+        assertSql(new SqlCounts(2, 0, 0, 0)); // page + items of the whole page
+    }
+
+    @Test
+    void getOneTodo() throws Exception {
+        perform(get("/api/todos/{id}", id)).andExpect(status().isOk());
+
+        assertSql(new SqlCounts(1, 0, 0, 0));
+    }
+
+    @Test
+    void getOneTodo_cached() throws Exception {
+        perform(get("/api/todos/{id}", id)).andExpect(status().isOk());
+        sql.reset();
+
+        perform(get("/api/todos/{id}", id)).andExpect(status().isOk());
+
+        assertSql(SqlCounts.NONE);
+    }
+
+    @Test
+    void getOneTodo_notModified() throws Exception {
+        String eTag = perform(get("/api/todos/{id}", id)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        sql.reset();
+
+        perform(get("/api/todos/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag)).andExpect(status().isNotModified());
+
+        assertSql(SqlCounts.NONE); // version of the cached todo
+    }
+
+    @Test
+    void getOneTodo_embedItems() throws Exception {
+        perform(get("/api/todos/{id}", id).param("embed", "items")).andExpect(status().isOk());
+
+        assertSql(new SqlCounts(1, 0, 0, 0)); // entity graph, todo LEFT JOIN items
+    }
+
+    @Test
+    void getOneTodo_unknownId() throws Exception {
+        perform(get("/api/todos/{id}", -1L)).andExpect(status().isNotFound());
+
+        assertSql(new SqlCounts(1, 0, 0, 0));
+    }
+
+    @Test
+    void countTodos() throws Exception {
+        perform(get("/api/todos/count")).andExpect(status().isOk());
+
+        assertSql(SqlCounts.NONE); // maintained counter
+    }
+
+    @Test
+    void getStats() throws Exception {
+        perform(get("/api/todos/stats")).andExpect(status().isOk());
+
+        assertSql(SqlCounts.NONE);
+    }
+
+    @Test
+    void getChanges() throws Exception {
+        perform(get("/api/todos/changes")).andExpect(status().isOk());
+
+        assertSql(new SqlCounts(2, 0, 0, 0)); // todos + tombstones
+    }
+
+    @Test
+    void searchTodos() throws Exception {
+        perform(get("/api/todos/search").param("q", "Fixture")).andExpect(status().isOk());
+
+        assertSql(SqlCounts.NONE); // in-memory index
+    }
+
+    @Test
+    void exportTodos() throws Exception {
+        perform(get("/api/todos/export")).andExpect(status().isOk());
+
+        assertSql(new SqlCounts(1, 0, 0, 0)); // one streaming query
+    }
+
+    @Test
+    void streamTodos() throws Exception {
+        // Never completes on its own -> no async dispatch
+        mvc.perform(get("/api/todos/stream")).andExpect(request().asyncStarted());
+
+        assertSql(SqlCounts.NONE);
+    }
+
+
+    // --- Single Writes ---
+
+    @Test
+    void createTodo() throws Exception {
+        perform(post("/api/todos").contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"New\"}"))
+                .andExpect(status().isCreated());
+
+        assertSql(new SqlCounts(0, 1, 0, 0));
+    }
+
+    @Test
+    void updateTodo() throws Exception {
+        perform(put("/api/todos/{id}", id).contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"Renamed\"}"))
+                .andExpect(status().isNoContent());
+
+        assertSql(new SqlCounts(0, 0, 1, 0)); // no SELECT before the UPDATE
+    }
+
+    @Test
+    void updateTodo_unknownId() throws Exception {
+        perform(put("/api/todos/{id}", -1L).contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"Renamed\"}"))
+                .andExpect(status().isNotFound());
+
+        assertSql(new SqlCounts(0, 0, 1, 0)); // affected rows = 0 -> 404
+    }
+
+    @Test
+    void deleteTodo() throws Exception {
+        perform(delete("/api/todos/{id}", id)).andExpect(status().isNoContent());
+
+        assertSql(new SqlCounts(0, 1, 0, 1)); // DELETE (items: ON DELETE CASCADE) + tombstone
+    }
+
+    @Test
+    void deleteTodo_unknownId() throws Exception {
+        perform(delete("/api/todos/{id}", -1L)).andExpect(status().isNotFound());
+
+        assertSql(new SqlCounts(0, 0, 0, 1)); // no existsById()
+    }
+
+    @Test
+    void addItem() throws Exception {
+        perform(post("/api/todos/{id}/items", id).contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"Item\"}"))
+                .andExpect(status().isCreated());
+
+        assertSql(new SqlCounts(1, 1, 1, 0)); // load todo, version increment, item
+    }
+
+
+    // --- Batch Writes (3 operations, one chunk) ---
+
+    @Test
+    void createTodos() throws Exception {
+        perform(post("/api/todos/batch").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\":[{\"title\":\"a\"},{\"title\":\"b\"},{\"title\":\"c\"}]}"))
+                .andExpect(status().isCreated());
+
+        assertSql(new SqlCounts(0, 1, 0, 0)); // ONE insert batch
+    }
+
+    @Test
+    void updateTodos() throws Exception {
+        List<Long> ids = createTodos(3);
+
+        perform(put("/api/todos/batch").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\":[{\"id\":%d,\"title\":\"x\"},{\"id\":%d,\"title\":\"y\"},{\"id\":%d,\"title\":\"z\"}]}"
+                        .formatted(ids.get(0), ids.get(1), ids.get(2))))
+                .andExpect(status().isOk());
+
+        assertSql(new SqlCounts(1, 0, 1, 0)); // ONE select (IN), ONE update batch
+    }
+
+    @Test
+    void deleteTodos() throws Exception {
+        List<Long> ids = createTodos(3);
+
+        perform(delete("/api/todos/batch").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"items\":[%d,%d,%d]}".formatted(ids.get(0), ids.get(1), ids.get(2))))
+                .andExpect(status().isOk());
+
+        assertSql(new SqlCounts(1, 1, 0, 1)); // existing ids, bulk DELETE, tombstone batch
+    }
+
+    @Test
+    void importNdjson() throws Exception {
+        perform(post("/api/todos/import").contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"title\":\"a\"}\n{\"title\":\"b\"}\n{\"title\":\"c\"}\n"))
+                .andExpect(status().isOk());
+
+        assertSql(new SqlCounts(0, 1, 0, 0)); // ONE insert batch per chunk
+    }
+
+    @Test
+    void importCsv() throws Exception {
+        perform(post("/api/todos/import").contentType(MediaType.parseMediaType("text/csv"))
+                .content("title\na\nb\nc\n"))
+                .andExpect(status().isOk());
+
+        assertSql(new SqlCounts(0, 1, 0, 0));
+    }
+
+
+    // Async endpoints (CompletableFuture, StreamingResponseBody) complete on a second dispatch
+    private ResultActions perform(RequestBuilder requestBuilder) throws Exception {
+        ResultActions actions = mvc.perform(requestBuilder);
+        MvcResult result = actions.andReturn();
+
+        return result.getRequest().isAsyncStarted()
+                ? mvc.perform(asyncDispatch(result))
+                : actions;
+    }
+
+    private List<Long> createTodos(int count) {
+        List<Long> ids = IntStream.range(0, count)
+                .mapToObj(i -> todoService.createTodo(new TodoRequest("Todo " + i)).getId())
+                .toList();
+        sql.reset();
+        return ids;
+    }
+
+    private void assertSql(SqlCounts expected) {
+        assertThat(sql.counts()).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,160 @@
+package at.spengergasse.todo.routing;
+
+import at.spengergasse.todo.config.CacheConfig;
+import at.spengergasse.todo.persistence.TodoRepository;
+import at.spengergasse.todo.services.TodoCountService;
+import at.spengergasse.todo.services.TodoService;
+import at.spengergasse.todo.viewmodel.TodoRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Read/write routing against two H2 databases, replicated by ReplicaStandIn
+// simulated-lag = 1s -> a fresh write is visible on the primary at once, on the replica ~1s later
+// max-lag = 10s      -> the replica is never considered too far behind (except in the unit checks)
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary",
+        "todo.replica.url=jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1",
+        "todo.replica.max-lag=10s",
+        "todo.replica.stand-in.interval=100ms",
+        "todo.replica.stand-in.simulated-lag=1s"
+})
+@ActiveProfiles("replica")
+class ReadWriteRoutingTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private ReplicaStandIn standIn;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private TodoCountService todoCountService;
+
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+
+        awaitUntil(() -> standIn.lag() != null); // <- first snapshot applied, replica is routable
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.clear();
+    }
+
+
+    @Test
+    void readOnlyTransaction_readsFromLaggingReplica() throws InterruptedException {
+        Long id = todoService.createTodo(new TodoRequest("Replicated")).getId();
+
+        assertThat(readWrite.execute(status -> todoRepository.existsById(id))).isTrue();   // primary
+        assertThat(readOnly.execute(status -> todoRepository.existsById(id))).isFalse();   // replica, not there yet
+
+        awaitUntil(() -> readOnly.execute(status -> todoRepository.existsById(id)));       // replicated
+    }
+
+    @Test
+    void pinnedThread_readsOwnWriteFromPrimary() {
+        Long id = todoService.createTodo(new TodoRequest("Read your writes")).getId();
+
+        ReadYourWrites.pin();
+
+        assertThat(readOnly.execute(status -> todoRepository.existsById(id))).isTrue();
+    }
+
+    @Test
+    void getOneTodo_cachesPrimaryReadsOnly() throws InterruptedException {
+        Long id = todoService.createTodo(new TodoRequest("Cached")).getId();
+        awaitUntil(() -> readOnly.execute(status -> todoRepository.existsById(id)));       // replicated
+
+        todoService.getOneTodo(id);                                                        // replica
+        assertThat(todoCache().get(id)).isNull();
+
+        ReadYourWrites.pin();
+        todoService.getOneTodo(id);                                                        // primary
+        assertThat(todoCache().get(id)).isNotNull();
+    }
+
+    @Test
+    void reconcile_countsOnThePrimary() {
+        todoService.createTodo(new TodoRequest("Counted"));                                // not replicated yet
+
+        todoCountService.reconcile();
+
+        assertThat(todoCountService.getCount().count())
+                .isEqualTo(readWrite.execute(status -> todoRepository.count()));
+    }
+
+
+    // --- Routing decision ---
+
+    @Test
+    void determineCurrentLookupKey_routesByReadOnlyFlagAndLag() {
+        Duration maxLag = Duration.ofSeconds(1);
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            assertThat(new ReadWriteRoutingDataSource(maxLag, () -> Duration.ofMillis(100)).determineCurrentLookupKey())
+                    .isEqualTo(ReadWriteRoutingDataSource.Route.REPLICA);
+            assertThat(new ReadWriteRoutingDataSource(maxLag, () -> Duration.ofSeconds(5)).determineCurrentLookupKey())
+                    .isEqualTo(ReadWriteRoutingDataSource.Route.PRIMARY);   // too far behind
+            assertThat(new ReadWriteRoutingDataSource(maxLag, () -> null).determineCurrentLookupKey())
+                    .isEqualTo(ReadWriteRoutingDataSource.Route.PRIMARY);   // not replicated yet
+
+            ReadYourWrites.pin();
+            assertThat(new ReadWriteRoutingDataSource(maxLag, () -> Duration.ZERO).determineCurrentLookupKey())
+                    .isEqualTo(ReadWriteRoutingDataSource.Route.PRIMARY);   // read-your-writes
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            ReadYourWrites.clear();
+        }
+
+        assertThat(new ReadWriteRoutingDataSource(maxLag, () -> Duration.ZERO).determineCurrentLookupKey())
+                .isEqualTo(ReadWriteRoutingDataSource.Route.PRIMARY);       // read-write transaction
+    }
+
+
+    private Cache todoCache() {
+        return cacheManager.getCache(CacheConfig.TODOS);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        Instant deadline = Instant.now().plus(TIMEOUT);
+        while (!condition.getAsBoolean()) {
+            assertThat(Instant.now()).as("condition not met within %s", TIMEOUT).isBefore(deadline);
+            Thread.sleep(50);
+        }
+    }
+}
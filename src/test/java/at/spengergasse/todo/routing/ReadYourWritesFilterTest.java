@@ -0,0 +1,107 @@
+package at.spengergasse.todo.routing;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Read-your-writes over HTTP: POST sets the cookie, requests that send it back read from the primary
+// simulated-lag = 2s -> right after the POST the todo exists on the primary only
+// Requests without the cookie read from the replica and do not see it yet
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ryw_primary",
+        "todo.replica.url=jdbc:h2:mem:ryw_replica;DB_CLOSE_DELAY=-1",
+        "todo.replica.max-lag=10s",
+        "todo.replica.stickiness=10s",
+        "todo.replica.stand-in.interval=100ms",
+        "todo.replica.stand-in.simulated-lag=2s"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("replica")
+class ReadYourWritesFilterTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ReplicaStandIn standIn;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        Instant deadline = Instant.now().plus(TIMEOUT);
+        while (standIn.lag() == null) { // <- first snapshot applied, replica is routable
+            assertThat(Instant.now()).as("replica not routable within %s", TIMEOUT).isBefore(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+
+    @Test
+    void getAfterPost_withCookie_readsFromPrimary() throws Exception {
+        MvcResult created = create("Read your writes");
+        String location = created.getResponse().getHeader(HttpHeaders.LOCATION);
+        Cookie lastWrite = created.getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+
+        mvc.perform(get(location))
+                .andExpect(status().isNotFound());                      // replica, not replicated yet
+
+        mvc.perform(get(location).cookie(lastWrite))
+                .andExpect(status().isOk());                            // primary
+    }
+
+    @Test
+    void exportAfterPost_withCookie_readsFromPrimaryOnAsyncThread() throws Exception {
+        Cookie lastWrite = create("Exported").getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+
+        assertThat(export(null)).doesNotContain("Exported");           // replica
+        assertThat(export(lastWrite)).contains("Exported");            // pin carried to the StreamingResponseBody
+    }
+
+
+    private MvcResult create(String title) throws Exception {
+        MvcResult result = mvc.perform(post("/api/todos").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"" + title + "\"}"))
+                .andExpect(request().asyncStarted())                    // CompletableFuture
+                .andExpect(cookie().exists(ReadYourWritesFilter.COOKIE))
+                .andReturn();
+
+        return mvc.perform(asyncDispatch(result))
+                .andExpect(status().isCreated())
+                .andReturn();
+    }
+
+    private String export(Cookie lastWrite) throws Exception {
+        MockHttpServletRequestBuilder exportRequest = get("/api/todos/export");
+        if (lastWrite != null)
+            exportRequest.cookie(lastWrite);
+
+        MvcResult result = mvc.perform(exportRequest)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(TIMEOUT.toMillis());                      // <- waits for the export to finish
+
+        return result.getResponse().getContentAsString();
+    }
+}
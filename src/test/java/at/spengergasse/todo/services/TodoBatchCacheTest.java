@@ -0,0 +1,79 @@
+package at.spengergasse.todo.services;
+
+import at.spengergasse.todo.config.CacheConfig;
+import at.spengergasse.todo.exceptions.ServiceException;
+import at.spengergasse.todo.viewmodel.TodoBatchUpdate;
+import at.spengergasse.todo.viewmodel.TodoRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Batch writes evict the cache per committed chunk
+// chunk-size 2: [a, b] commits, [c with a too long title] fails on flush
+// -> a and b must not be served from the cache
+
+@SpringBootTest(properties = "todo.batch.chunk-size=2")
+class TodoBatchCacheTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoBatchService todoBatchService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void updateTodos_failingLaterChunk_evictsCommittedChunks() {
+        Long a = todoService.createTodo(new TodoRequest("A")).getId();
+        Long b = todoService.createTodo(new TodoRequest("B")).getId();
+        Long c = todoService.createTodo(new TodoRequest("C")).getId();
+        todoService.getOneTodo(a);
+        todoService.getOneTodo(b);
+
+        assertThatThrownBy(() -> todoBatchService.updateTodos(List.of(
+                new TodoBatchUpdate(a, "A2"), new TodoBatchUpdate(b, "B2"), new TodoBatchUpdate(c, "C".repeat(101)))))
+                .isInstanceOf(RuntimeException.class);
+
+        assertThat(todoCache().get(a)).isNull();
+        assertThat(todoCache().get(b)).isNull();
+        assertThat(todoService.getOneTodo(a).title()).isEqualTo("A2");
+        assertThat(todoService.getOneTodo(b).title()).isEqualTo("B2");
+    }
+
+    @Test
+    void updateTodos_unknownIdInLaterChunk_updatesNothing() {
+        Long a = todoService.createTodo(new TodoRequest("A")).getId();
+        Long b = todoService.createTodo(new TodoRequest("B")).getId();
+
+        assertThatThrownBy(() -> todoBatchService.updateTodos(List.of(
+                new TodoBatchUpdate(a, "A2"), new TodoBatchUpdate(b, "B2"), new TodoBatchUpdate(-1L, "Missing"))))
+                .isInstanceOf(ServiceException.class);
+
+        assertThat(todoService.getOneTodo(a).title()).isEqualTo("A");
+        assertThat(todoService.getOneTodo(b).title()).isEqualTo("B");
+    }
+
+    @Test
+    void deleteTodos_evictsDeletedIds() {
+        Long id = todoService.createTodo(new TodoRequest("Deleted")).getId();
+        todoService.getOneTodo(id);
+
+        todoBatchService.deleteTodos(List.of(id));
+
+        assertThat(todoCache().get(id)).isNull();
+    }
+
+
+    private Cache todoCache() {
+        return cacheManager.getCache(CacheConfig.TODOS);
+    }
+}
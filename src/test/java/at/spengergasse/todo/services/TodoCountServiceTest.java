@@ -0,0 +1,68 @@
+package at.spengergasse.todo.services;
+
+import at.spengergasse.todo.viewmodel.TodoRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Maintained counter vs. the table: drift from writes that bypass the services is corrected,
+// a create whose transaction has not completed yet makes reconcile() skip (and count the skip)
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:todo_count")
+class TodoCountServiceTest {
+
+    @Autowired
+    private TodoCountService todoCountService;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+
+    @Test
+    void reconcile_correctsDriftFromWritesThatBypassTheServices() {
+        Long id = todoService.createTodo(new TodoRequest("Deleted behind our back")).getId();
+        jdbcTemplate.update("DELETE FROM todo WHERE id = ?", id);
+
+        todoCountService.reconcile();
+
+        assertThat(todoCountService.getCount().count()).isEqualTo(tableCount());
+        assertThat(meterRegistry.get("todo.count.reconcile.age").gauge().value()).isLessThan(60);
+    }
+
+    @Test
+    void reconcile_whileACreateIsPending_skipsAndKeepsTheCounter() {
+        double skippedBefore = meterRegistry.get("todo.count.reconcile.skipped").counter().count();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            todoService.createTodo(new TodoRequest("Pending")); // <- joins this transaction, not committed yet
+            long counted = todoCountService.getCount().count();
+
+            todoCountService.reconcile();
+
+            assertThat(todoCountService.getCount().count()).isEqualTo(counted);
+        });
+
+        assertThat(meterRegistry.get("todo.count.reconcile.skipped").counter().count()).isGreaterThan(skippedBefore);
+        assertThat(todoCountService.getCount().count()).isEqualTo(tableCount()); // <- committed, counted once
+    }
+
+
+    private long tableCount() {
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM todo", Long.class);
+        return (rows == null) ? 0 : rows;
+    }
+}
@@ -0,0 +1,94 @@
+package at.spengergasse.todo.services;
+
+import at.spengergasse.todo.viewmodel.TodoImportResult;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Bulk import under open-in-view: the request's EntityManager is bound to the thread
+// (as OpenEntityManagerInViewInterceptor does) and reused by every chunk transaction
+// chunk-size 10 -> 25 valid lines = 3 chunks
+
+@SpringBootTest(properties = "todo.import.chunk-size=10")
+class TodoImportServiceTest {
+
+    @Autowired
+    private TodoImportService todoImportService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private EntityManager requestEntityManager;
+
+    @BeforeEach
+    void openEntityManagerInView() {
+        requestEntityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(requestEntityManager));
+    }
+
+    @AfterEach
+    void closeEntityManagerInView() {
+        TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+        requestEntityManager.close();
+    }
+
+
+    @Test
+    void importTodos_ndjson_countsAcceptedAndRejectedLines() throws IOException {
+        String body = """
+                {"title": "Buy milk"}
+                {"title": ""}
+                not json
+
+                {"title": "Walk the dog"}
+                {"name": "no title"}
+                """;
+
+        TodoImportResult result = todoImportService.importTodos(new StringReader(body), TodoImportService.Format.NDJSON);
+
+        assertThat(result.accepted()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(3);
+        assertThat(result.errors()).extracting(TodoImportResult.Rejection::line).containsExactly(2L, 3L, 6L);
+    }
+
+    @Test
+    void importTodos_csv_skipsHeaderAndParsesQuotedFields() throws IOException {
+        String body = """
+                title
+                Buy milk
+                "Call Bob, Alice and ""the others\"""
+                "unterminated
+                """;
+
+        TodoImportResult result = todoImportService.importTodos(new StringReader(body), TodoImportService.Format.CSV);
+
+        assertThat(result.accepted()).isEqualTo(2);
+        assertThat(result.rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void importTodos_doesNotKeepImportedTodosInThePersistenceContext() throws IOException {
+        String body = IntStream.range(0, 25)
+                .mapToObj(i -> "{\"title\": \"Imported " + i + "\"}")
+                .collect(Collectors.joining("\n"));
+
+        TodoImportResult result = todoImportService.importTodos(new StringReader(body), TodoImportService.Format.NDJSON);
+
+        assertThat(result.accepted()).isEqualTo(25);
+        assertThat(requestEntityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+}
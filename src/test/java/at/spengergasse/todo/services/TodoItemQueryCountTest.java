@@ -0,0 +1,81 @@
+package at.spengergasse.todo.services;
+
+import at.spengergasse.todo.viewmodel.TodoCursor;
+import at.spengergasse.todo.viewmodel.TodoDetailView;
+import at.spengergasse.todo.viewmodel.TodoItemRequest;
+import at.spengergasse.todo.viewmodel.TodoPage;
+import at.spengergasse.todo.viewmodel.TodoRequest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Todos with embedded items: the number of SQL statements must NOT grow with the number of todos
+// (N+1 would be 1 page query + N item queries)
+
+@SpringBootTest
+class TodoItemQueryCountTest {
+
+    private static final int ITEMS_PER_TODO = 2;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100})
+    void getAllTodosWithItems_executesTwoStatementsForAnyPageSize(int todos) {
+        Long firstId = createTodosWithItems(todos);
+        statistics.clear();
+
+        TodoPage<TodoDetailView> page = todoService.getAllTodosWithItems(TodoCursor.encode(firstId - 1), todos);
+
+        assertThat(page.items()).hasSize(todos)
+                .allSatisfy(todo -> assertThat(todo.items()).hasSize(ITEMS_PER_TODO));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getOneTodoWithItems_executesOneStatement() {
+        Long id = createTodosWithItems(1);
+        statistics.clear();
+
+        TodoDetailView todo = todoService.getOneTodoWithItems(id);
+
+        assertThat(todo.items()).hasSize(ITEMS_PER_TODO);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+
+    // Returns the id of the first created todo (ids ascend)
+    private Long createTodosWithItems(int todos) {
+        Long firstId = null;
+
+        for (int i = 0; i < todos; i++) {
+            Long id = todoService.createTodo(new TodoRequest("Todo " + i)).getId();
+            for (int item = 0; item < ITEMS_PER_TODO; item++)
+                todoService.addItem(id, new TodoItemRequest("Item " + item));
+
+            if (firstId == null)
+                firstId = id;
+        }
+        return firstId;
+    }
+}
@@ -0,0 +1,76 @@
+package at.spengergasse.todo.services;
+
+import at.spengergasse.todo.exceptions.ServiceException;
+import at.spengergasse.todo.viewmodel.TodoRequest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Single-statement write paths: exactly ONE SQL statement per update/delete
+// (+ ONE tombstone INSERT for a successful delete, see TodoTombstoneRecorder)
+// Counted with Hibernate Statistics (hibernate.generate_statistics=true)
+
+@SpringBootTest(properties = "todo.write.single-statement=true")
+class TodoServiceStatementCountTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void updateTodo_executesOneStatement() {
+        Long id = todoService.createTodo(new TodoRequest("Before")).getId();
+        statistics.clear();
+
+        assertThat(todoService.updateTodo(id, new TodoRequest("After"))).isEmpty();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void updateTodo_unknownId_executesOneStatementAndThrowsNotFound() {
+        statistics.clear();
+
+        assertThatThrownBy(() -> todoService.updateTodo(-1L, new TodoRequest("After")))
+                .isInstanceOf(ServiceException.class);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void deleteTodo_executesDeleteAndTombstoneInsert() {
+        Long id = todoService.createTodo(new TodoRequest("Delete me")).getId();
+        statistics.clear();
+
+        todoService.deleteTodo(id);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void deleteTodo_unknownId_executesOneStatementAndThrowsNotFound() {
+        statistics.clear();
+
+        assertThatThrownBy(() -> todoService.deleteTodo(-1L))
+                .isInstanceOf(ServiceException.class);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
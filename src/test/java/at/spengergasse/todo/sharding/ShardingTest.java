@@ -0,0 +1,183 @@
+package at.spengergasse.todo.sharding;
+
+import at.spengergasse.todo.model.modelBean.Todo;
+import at.spengergasse.todo.persistence.TodoRepository;
+import at.spengergasse.todo.services.TodoBatchService;
+import at.spengergasse.todo.services.TodoService;
+import at.spengergasse.todo.viewmodel.TodoBatchDeleteResult;
+import at.spengergasse.todo.viewmodel.TodoBatchUpdate;
+import at.spengergasse.todo.viewmodel.TodoCursor;
+import at.spengergasse.todo.viewmodel.TodoDetailView;
+import at.spengergasse.todo.viewmodel.TodoItemRequest;
+import at.spengergasse.todo.viewmodel.TodoItemView;
+import at.spengergasse.todo.viewmodel.TodoPage;
+import at.spengergasse.todo.viewmodel.TodoRequest;
+import at.spengergasse.todo.viewmodel.TodoView;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Sharding over three local H2 databases
+// Every assertion about placement reads the shards directly (JDBC, no routing)
+
+@SpringBootTest(properties = {
+        "todo.sharding.urls[0]=jdbc:h2:mem:sharding_test0;DB_CLOSE_DELAY=-1",
+        "todo.sharding.urls[1]=jdbc:h2:mem:sharding_test1;DB_CLOSE_DELAY=-1",
+        "todo.sharding.urls[2]=jdbc:h2:mem:sharding_test2;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("sharding")
+class ShardingTest {
+
+    private static final int SHARDS = 3;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Autowired
+    private TodoBatchService todoBatchService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private ShardRoutingDataSource shards;
+
+
+    @Test
+    void createTodo_spreadsTodosOverAllShards_idOfARowNamesItsShard() {
+        List<Long> ids = createTodos(2 * SHARDS);
+
+        assertThat(new HashSet<>(ids)).hasSize(ids.size());
+        assertThat(ids.stream().map(shards::shardOf).distinct()).hasSize(SHARDS);
+        for (Long id : ids)
+            for (int shard = 0; shard < SHARDS; shard++)
+                assertThat(rowsOn(shard, "todo", id)).isEqualTo(shard == shards.shardOf(id) ? 1 : 0);
+    }
+
+    @Test
+    void getAllTodos_gathersAllShardsInIdOrder() {
+        List<Long> created = createTodos(7);
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            TodoPage<TodoView> page = todoService.getAllTodos(cursor, 3);
+            page.items().forEach(todo -> seen.add(todo.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).isSorted().doesNotHaveDuplicates().containsAll(created);
+        assertThat((long) seen.size()).isEqualTo(totalRows());
+    }
+
+    @Test
+    void count_sumsAllShards() {
+        createTodos(SHARDS + 1);
+
+        assertThat(todoRepository.count()).isEqualTo(totalRows());
+    }
+
+    @Test
+    void singleTodoOperations_runOnTheShardOfTheId() {
+        Long id = todoService.createTodo(new TodoRequest("Sharded")).getId();
+        Long itemId = todoService.addItem(id, new TodoItemRequest("Item")).id();
+        int shard = shards.shardOf(id);
+
+        assertThat(shards.shardOf(itemId)).isEqualTo(shard);  // items live with their todo
+        assertThat(rowsOn(shard, "todo_item", itemId)).isEqualTo(1);
+
+        TodoDetailView todo = todoService.getOneTodoWithItems(id);
+        assertThat(todo.items()).extracting(TodoItemView::id).containsExactly(itemId);
+
+        todoService.updateTodo(id, new TodoRequest("Renamed"));
+        assertThat(todoService.getOneTodo(id).title()).isEqualTo("Renamed");
+
+        todoService.deleteTodo(id);
+        assertThat(rowsOn(shard, "todo", id)).isZero();
+        assertThat(rowsOn(shard, "todo_tombstone", id)).isEqualTo(1);
+    }
+
+    @Test
+    void getAllTodosWithItems_gathersItemsOfAllShards() {
+        List<Long> ids = createTodos(SHARDS);
+        ids.forEach(id -> todoService.addItem(id, new TodoItemRequest("Item of " + id)));
+
+        TodoPage<TodoDetailView> page = todoService.getAllTodosWithItems(TodoCursor.encode(0L), 500);
+
+        assertThat(page.items()).filteredOn(todo -> ids.contains(todo.id()))
+                .hasSize(SHARDS)
+                .allSatisfy(todo -> assertThat(todo.items()).hasSize(1));
+    }
+
+    @Test
+    void exportTodos_streamsAllShardsInIdOrder() {
+        List<Long> created = createTodos(2 * SHARDS);
+
+        List<Long> exported = new ArrayList<>();
+        todoService.exportTodos(todo -> exported.add(todo.getId()));
+
+        assertThat(exported).isSorted().doesNotHaveDuplicates().containsAll(created);
+        assertThat((long) exported.size()).isEqualTo(totalRows());
+    }
+
+    @Test
+    void batchDelete_acrossShards_deletesOnEveryShard() {
+        List<Long> ids = createTodos(2 * SHARDS);
+
+        TodoBatchDeleteResult result = todoBatchService.deleteTodos(ids);
+
+        assertThat(result.deleted()).isEqualTo(ids.size());
+        assertThat(ids).allSatisfy(id -> assertThat(rowsOn(shards.shardOf(id), "todo", id)).isZero());
+    }
+
+    @Test
+    void batchUpdate_acrossShards_updatesOnEveryShard() {
+        List<Long> ids = createTodos(2 * SHARDS);
+
+        List<Todo> updated = todoBatchService.updateTodos(
+                ids.stream().map(id -> new TodoBatchUpdate(id, "Batch " + id)).toList());
+
+        assertThat(updated).extracting(Todo::getId).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(ids).allSatisfy(id -> assertThat(todoService.getOneTodo(id).title()).isEqualTo("Batch " + id));
+    }
+
+    @Test
+    void repositoryCall_withIdsOfSeveralShards_isRejected() {
+        List<Long> ids = createTodos(SHARDS);
+
+        assertThatThrownBy(() -> todoRepository.findExistingIds(ids))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+
+    private List<Long> createTodos(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> todoService.createTodo(new TodoRequest("Todo " + i)).getId())
+                .toList();
+    }
+
+    private int rowsOn(int shard, String table, Long id) {
+        Integer rows = new JdbcTemplate(shards.shard(shard))
+                .queryForObject("SELECT COUNT(*) FROM " + table + " WHERE id = ?", Integer.class, id);
+        return (rows == null) ? 0 : rows;
+    }
+
+    private long totalRows() {
+        long total = 0;
+        for (int shard = 0; shard < SHARDS; shard++) {
+            Long rows = new JdbcTemplate(shards.shard(shard)).queryForObject("SELECT COUNT(*) FROM todo", Long.class);
+            total += (rows == null) ? 0 : rows;
+        }
+        return total;
+    }
+}
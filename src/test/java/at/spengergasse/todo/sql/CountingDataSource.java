@@ -0,0 +1,86 @@
+package at.spengergasse.todo.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+
+// JDBC Proxy: every connection and statement handed to Hibernate is wrapped
+// ---------------------------------
+// PreparedStatement: SQL is known from prepareStatement(sql), counted on execute*()
+// Statement:         SQL is the argument of execute*(sql)
+// Counts what really reaches the driver, no matter which layer issued it
+// (Hibernate, Spring Data, JdbcTemplate, lazy loading, ...)
+//
+// DelegatingDataSource: Spring Boot still finds the Hikari pool behind it (metrics, health)
+
+public class CountingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final SqlStatementCounter counter;
+
+    public CountingDataSource(DataSource target, SqlStatementCounter counter) {
+        super(target);
+        this.counter = counter;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+
+    private Connection counting(Connection connection) {
+        return proxy(Connection.class, connection, (method, args, result) -> {
+            boolean prepares = method.getName().startsWith("prepare") && args != null && args[0] instanceof String;
+
+            if (prepares)
+                return countingStatement(method.getReturnType(), result, (String) args[0]);
+            if (method.getName().equals("createStatement"))
+                return countingStatement(method.getReturnType(), result, null);
+            return result;
+        });
+    }
+
+    // preparedSql == null -> plain Statement, the SQL comes with execute*(sql)
+    private Object countingStatement(Class<?> type, Object statement, String preparedSql) {
+        return proxy(type, statement, (method, args, result) -> {
+            if (EXECUTE_METHODS.contains(method.getName())) {
+                String sql = (preparedSql != null) ? preparedSql
+                        : (args != null && args.length > 0 && args[0] instanceof String s) ? s : null;
+                if (sql != null)
+                    counter.record(sql);
+            }
+            return result;
+        });
+    }
+
+
+    @FunctionalInterface
+    private interface AfterCall {
+        Object apply(Method method, Object[] args, Object result);
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, AfterCall afterCall) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (p, method, args) -> {
+            try {
+                return afterCall.apply(method, args, method.invoke(target, args));
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            }
+        });
+        return type.cast(proxy);
+    }
+}
@@ -0,0 +1,31 @@
+package at.spengergasse.todo.sql;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+// @Import(SqlCountingConfig.class): wraps the application DataSource in a CountingDataSource
+// and exposes the SqlStatementCounter for assertions
+
+@TestConfiguration(proxyBeanMethods = false)
+public class SqlCountingConfig {
+
+    @Bean
+    static SqlStatementCounter sqlStatementCounter() {
+        return new SqlStatementCounter();
+    }
+
+    @Bean
+    static BeanPostProcessor countingDataSourcePostProcessor(SqlStatementCounter counter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return (bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource))
+                        ? new CountingDataSource(dataSource, counter)
+                        : bean;
+            }
+        };
+    }
+}
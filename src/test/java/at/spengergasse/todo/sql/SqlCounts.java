@@ -0,0 +1,13 @@
+package at.spengergasse.todo.sql;
+
+// Statements sent to the database, by type
+// A JDBC batch (many rows, one executeBatch) counts as ONE statement: one round trip
+
+public record SqlCounts(
+        int select,
+        int insert,
+        int update,
+        int delete
+) {
+    public static final SqlCounts NONE = new SqlCounts(0, 0, 0, 0);
+}
@@ -0,0 +1,46 @@
+package at.spengergasse.todo.sql;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Counts executed SQL statements by type (fed by CountingDataSource)
+// ---------------------------------
+// Counted:     SELECT / INSERT / UPDATE / DELETE executions (batch = 1)
+// Not counted: sequence fetches (pooled: one per 50 ids, depends on earlier inserts),
+//              DDL and anything else
+// Thread-safe: async endpoints (export, POST) run their SQL on other threads
+
+public class SqlStatementCounter {
+
+    private final AtomicInteger select = new AtomicInteger();
+    private final AtomicInteger insert = new AtomicInteger();
+    private final AtomicInteger update = new AtomicInteger();
+    private final AtomicInteger delete = new AtomicInteger();
+
+    void record(String sql) {
+        String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+
+        if (statement.contains("next value for"))
+            return;
+
+        if (statement.startsWith("select") || statement.startsWith("with"))
+            select.incrementAndGet();
+        else if (statement.startsWith("insert"))
+            insert.incrementAndGet();
+        else if (statement.startsWith("update"))
+            update.incrementAndGet();
+        else if (statement.startsWith("delete"))
+            delete.incrementAndGet();
+    }
+
+    public void reset() {
+        select.set(0);
+        insert.set(0);
+        update.set(0);
+        delete.set(0);
+    }
+
+    public SqlCounts counts() {
+        return new SqlCounts(select.get(), insert.get(), update.get(), delete.get());
+    }
+}